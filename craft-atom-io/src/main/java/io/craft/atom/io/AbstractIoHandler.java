@@ -53,4 +53,9 @@ abstract public class AbstractIoHandler implements IoHandler {
 		LOG.warn("[CRAFT-ATOM-IO] Thrown |channel={}|", channel, cause);
 	}
 	
+	@Override
+	public void channelWritabilityChanged(Channel<byte[]> channel) {
+		LOG.debug("[CRAFT-ATOM-IO] Writability changed |channel={}, writable={}|", channel, channel.isWritable());
+	}
+	
 }
@@ -87,6 +87,24 @@ public interface Channel<D> {
 	 */
 	boolean write(D data) throws IllegalChannelStateException;
 	
+	/**
+	 * Cork this channel.
+	 * 
+	 * <p> After a channel is corked, data written to the channel is held in the write queue and not flushed 
+	 * until the channel is uncorked, so that several small writes can be sent as fewer larger segments.
+	 * The caller must uncork the channel after the last write, otherwise the held data is never flushed.
+	 * 
+	 * <p> If this channel is already corked then invoking this method has no effect.
+	 */
+	void cork();
+	
+	/**
+	 * Uncork this channel and flush all the data held since the channel was corked.
+	 * 
+	 * <p> If this channel is not corked then invoking this method has no effect.
+	 */
+	void uncork();
+	
 	/**
      * Tells whether or not this channel is open. 
      *
@@ -115,6 +133,17 @@ public interface Channel<D> {
 	 */
 	boolean isPaused();
 	
+	/**
+	 * Tells whether or not this channel is writable.
+	 * 
+	 * <p> A channel becomes unwritable when its queued bytes exceed the high water mark,
+	 * and becomes writable again once the queued bytes drop below the low water mark.
+	 * If no water mark is configured the channel is always writable.
+	 * 
+	 * @return <tt>true</tt> if, and only if, queued bytes of this channel do not exceed the high water mark
+	 */
+	boolean isWritable();
+	
 	/**
 	 * Returns the value of the user-defined attribute of this session.
 	 * 
@@ -27,6 +27,9 @@ public enum ChannelEventType {
 	CHANNEL_IDLE,
 	
 	/** When channel operation throw exception, fire this event */
-	CHANNEL_THROWN
+	CHANNEL_THROWN,
+	
+	/** When queued bytes of channel crosses the high or low water mark and its writability changed, fire this event */
+	CHANNEL_WRITABILITY_CHANGED
 
 }
@@ -64,4 +64,12 @@ public interface IoHandler {
 	 * @param cause
 	 */
 	void channelThrown(Channel<byte[]> channel, Exception cause);
+	
+	/**
+	 * Invoked when writability of channel changed, queued bytes of the channel crosses the high or low water mark.
+	 * Use {@link Channel#isWritable()} to get current writability.
+	 * 
+	 * @param channel
+	 */
+	void channelWritabilityChanged(Channel<byte[]> channel);
 }
@@ -1,5 +1,7 @@
 package io.craft.atom.io;
 
+import java.util.List;
+
 
 /**
  * The x-ray of {@link IoProcessor}
@@ -8,6 +10,13 @@ package io.craft.atom.io;
  * @version 1.0, Oct 15, 2014
  */
 public interface IoProcessorX extends IoReactorX {
-
+	
+	
+	/**
+	 * @return descriptions of the channels with most recent read and written bytes in the processor, 
+	 *         hottest first, it is empty if metrics is disabled.
+	 */
+	List<String> heavyHitters();
+	
 
 }
@@ -1,5 +1,7 @@
 package io.craft.atom.io;
 
+import java.util.Map;
+
 /**
  * The x-ray of {@link IoReactor}
  * 
@@ -29,4 +31,10 @@ public interface IoReactorX {
 	 */
 	int closingChannelCount();
 	
+	/**
+	 * @return named metrics such as bytes in and out, dispatched events, percentiles of event queue wait time and handler time in nanoseconds, 
+	 *         it is empty if metrics is disabled.
+	 */
+	Map<String, Long> metrics();
+	
 }
@@ -3,7 +3,6 @@ package io.craft.atom.nio;
 import io.craft.atom.io.IoAcceptor;
 import io.craft.atom.io.IoAcceptorX;
 import io.craft.atom.io.IoHandler;
-import io.craft.atom.io.IoReactorX;
 import io.craft.atom.nio.api.NioAcceptorConfig;
 import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
@@ -363,6 +362,7 @@ abstract public class NioAcceptor extends NioReactor implements IoAcceptor {
 		
 		// close acceptor selector
 		this.selector.close();
+		shutdownByProtocol();
 		super.shutdown();
 		LOG.debug("[CRAFT-ATOM-NIO] Shutdown acceptor successful");
 	}
@@ -420,6 +420,7 @@ abstract public class NioAcceptor extends NioReactor implements IoAcceptor {
 						SelectableChannel sc = boundmap.get(address);
 						close(sc);
 						boundmap.remove(address);
+						unbindByProtocol(address);
 					}
 
 					LOG.debug("[CRAFT-ATOM-NIO] Unbind |address={}|" + address);
@@ -462,6 +463,36 @@ abstract public class NioAcceptor extends NioReactor implements IoAcceptor {
 	 */
 	protected abstract NioByteChannel acceptByProtocol(SelectionKey key) throws IOException;
 	
+	/**
+	 * Release resources of the unbound address according to protocol type, besides the channel in bound map.
+	 * 
+	 * @param address
+	 */
+	protected void unbindByProtocol(SocketAddress address) throws IOException {}
+	
+	/**
+	 * Release resources according to protocol type when the acceptor is shutdown.
+	 */
+	protected void shutdownByProtocol() throws IOException {}
+	
+	/**
+	 * Sets SO_REUSEPORT of the channel before it is bound, the option is only available since java 9 and kernel support is required, so it is set by reflection.
+	 * 
+	 * @param channel a server socket channel or datagram channel
+	 * @return <code>true</code> if it is set.
+	 */
+	static boolean reusePort(SelectableChannel channel) {
+		try {
+			Class<?> optionClass = Class.forName("java.net.SocketOption");
+			Object option = Class.forName("java.net.StandardSocketOptions").getField("SO_REUSEPORT").get(null);
+			Class.forName("java.nio.channels.NetworkChannel").getMethod("setOption", optionClass, Object.class).invoke(channel, option, Boolean.TRUE);
+			return true;
+		} catch (Exception e) {
+			LOG.debug("[CRAFT-ATOM-NIO] SO_REUSEPORT is not supported", e);
+			return false;
+		}
+	}
+	
 	
 	// ~ ------------------------------------------------------------------------------------------------------------
 	
@@ -507,11 +538,15 @@ abstract public class NioAcceptor extends NioReactor implements IoAcceptor {
 		x.setWaitBindAddresses(new HashSet<SocketAddress>(bindAddresses));
 		x.setWaitUnbindAddresses(new HashSet<SocketAddress>(unbindAddresses));
 		x.setBoundAddresses(new HashSet<SocketAddress>(boundmap.keySet()));
-		IoReactorX rx = super.x();
+		NioReactorX rx = (NioReactorX) super.x();
 		x.setNewChannelCount(rx.newChannelCount());
 		x.setFlushingChannelCount(rx.flushingChannelCount());
 		x.setClosingChannelCount(rx.closingChannelCount());
 		x.setAliveChannelCount(rx.aliveChannelCount());
+		x.setThrottledChannelCount(rx.getThrottledChannelCount());
+		x.setThrottleCount(rx.getThrottleCount());
+		x.setOverBudgetEventCount(rx.getOverBudgetEventCount());
+		x.setMetrics(rx.getMetrics());
 		return x;
 	}
 
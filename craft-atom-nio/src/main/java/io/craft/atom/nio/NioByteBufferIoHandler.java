@@ -0,0 +1,27 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoHandler;
+
+/**
+ * An opt-in {@link IoHandler} variant which receives read bytes as pooled buffer instead of a new copied byte array.
+ * <p>
+ * When the handler of a nio component implements this interface, processor reads data into a pooled buffer and 
+ * hands over it to {@link #channelRead(Channel, NioPooledByteBuffer)} directly, {@link IoHandler#channelRead(Channel, byte[])} 
+ * is never invoked. The buffer is released after dispatch, so the handler must {@link NioPooledByteBuffer#retain()} it 
+ * if it still holds the buffer after the method returned, and {@link NioPooledByteBuffer#release()} it later.
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public interface NioByteBufferIoHandler extends IoHandler {
+	
+	/**
+	 * Invoked when channel has read some bytes.
+	 * 
+	 * @param channel
+	 * @param buffer read bytes between position and limit of the buffer.
+	 */
+	void channelRead(Channel<byte[]> channel, NioPooledByteBuffer buffer);
+	
+}
@@ -6,17 +6,23 @@ import io.craft.atom.io.ChannelState;
 import io.craft.atom.io.IllegalChannelStateException;
 import io.craft.atom.nio.spi.NioBufferSizePredictor;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+import io.craft.atom.util.buffer.AdaptiveByteBuffer;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel.Timeout;
 
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.ToString;
 
@@ -31,20 +37,39 @@ import lombok.ToString;
  */
 @ToString(callSuper = true, of = { "localAddress", "remoteAddress" })
 abstract public class NioByteChannel extends AbstractIoByteChannel {
+	
+	
+	/** Read is suspended because total event size of dispatcher is reached. */
+	public static final int SUSPEND_READ_BY_TOTAL_EVENT   = 1;
+	/** Read is suspended because event size of the channel is reached. */
+	public static final int SUSPEND_READ_BY_CHANNEL_EVENT = 2;
 	                   
 	
-	protected          SocketAddress               localAddress                                                        ;
-	protected          SocketAddress               remoteAddress                                                       ;
-	protected          SelectionKey                selectionKey                                                        ;
-	protected          NioProcessor                processor                                                           ;
-	protected final    Semaphore                   semaphore                                                           ;
-	protected final    NioChannelEventDispatcher   dispatcher                                                          ;
-	protected final    NioBufferSizePredictor      predictor                                                           ;
-	protected final    Queue<ByteBuffer>           writeBufferQueue = new ConcurrentLinkedQueue<ByteBuffer>()          ;
-	protected final    Queue<ChannelEvent<byte[]>> eventQueue       = new ConcurrentLinkedQueue<ChannelEvent<byte[]>>();
-	protected final    Object                      lock             = new Object()                                     ;
-	protected final    AtomicBoolean               scheduleFlush    = new AtomicBoolean(false)                         ;
-	protected volatile boolean                     eventProcessing  = false                                            ;
+	protected          SocketAddress               localAddress                                                         ;
+	protected          SocketAddress               remoteAddress                                                        ;
+	protected          SelectionKey                selectionKey                                                         ;
+	protected volatile NioProcessor                processor                                                            ;
+	protected final    Semaphore                   semaphore                                                            ;
+	protected final    NioChannelEventDispatcher   dispatcher                                                           ;
+	protected final    NioBufferSizePredictor      predictor                                                            ;
+	protected final    Queue<ByteBuffer>           writeBufferQueue  = new NioMpscQueue<ByteBuffer>()                   ;
+	protected final    Queue<ChannelEvent<byte[]>> eventQueue        = new ConcurrentLinkedQueue<ChannelEvent<byte[]>>();
+	protected final    Object                      lock              = new Object()                                     ;
+	protected final    Object                      writabilityLock   = new Object()                                     ;
+	protected final    AtomicLong                  pendingWriteBytes = new AtomicLong()                                 ;
+	protected final    int                         lowWaterMark                                                         ;
+	protected final    int                         highWaterMark                                                        ;
+	protected final    NioWritePolicy              writePolicy                                                          ;
+	protected final    AtomicBoolean               scheduleFlush     = new AtomicBoolean(false)                         ;
+	protected final    AtomicBoolean               scheduleEvent     = new AtomicBoolean(false)                         ;
+	protected final    AtomicInteger               readSuspension    = new AtomicInteger()                              ;
+	protected final    List<ByteBuffer>            coalescedBuffers  = new ArrayList<ByteBuffer>()                      ;
+	protected          AdaptiveByteBuffer          coalescingBuffer                                                     ;
+	protected volatile Timeout<NioByteChannel>     idleTimeout                                                          ;
+	protected          long                        ioByteCount                                                          ;
+	protected volatile boolean                     eventProcessing   = false                                            ;
+	protected volatile boolean                     corked            = false                                            ;
+	protected volatile boolean                     writable          = true                                             ;
 	
 	
 	// ~ ------------------------------------------------------------------------------------------------------------
@@ -55,6 +80,9 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 		this.semaphore = new Semaphore(config.getChannelEventSize(), false);
 		this.predictor = predictor;
 		this.dispatcher = dispatcher;
+		this.lowWaterMark = config.getWriteBufferLowWaterMark();
+		this.highWaterMark = config.getWriteBufferHighWaterMark();
+		this.writePolicy = config.getWritePolicy();
 	}
 	
 	
@@ -78,13 +106,105 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 		if (isClosing())  { throw new IllegalChannelStateException("Channel is closing"); }
 		if (isPaused())   { throw new IllegalChannelStateException("Channel is paused"); }
 		if (data == null) { return false; }
+		if (!writable && !awaitWritable()) { return false; }
 		
 		setLastIoTime(System.currentTimeMillis());
 		getWriteBufferQueue().add(ByteBuffer.wrap(data));
-		processor.flush(this);
+		updatePendingWriteBytes(data.length);
+		if (!corked) {
+			processor.flush(this);
+		}
 		return true;
 	}
 	
+	/**
+	 * Apply the write policy when the channel is not writable.
+	 * 
+	 * @return <code>true</code> if the data should be queued.
+	 */
+	private boolean awaitWritable() throws IllegalChannelStateException {
+		switch (writePolicy) {
+		case REJECT:
+			return false;
+		case BLOCK:
+			// never block the processor thread, it is the one who drains the write queue.
+			if (processor.inProcessThread()) {
+				return true;
+			}
+			
+			synchronized (writabilityLock) {
+				while (!writable && (isOpen() || isPaused())) {
+					try {
+						writabilityLock.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+				}
+			}
+			
+			if (isClosing() || isClosed()) { 
+				throw new IllegalChannelStateException("Channel is closed"); 
+			}
+			return true;
+		default:
+			return true;
+		}
+	}
+	
+	@Override
+	public boolean isWritable() {
+		return writable;
+	}
+	
+	@Override
+	public void cork() {
+		corked = true;
+	}
+	
+	@Override
+	public void uncork() {
+		if (!corked) {
+			return;
+		}
+		
+		corked = false;
+		if (isOpen() || isPaused()) {
+			processor.flush(this);
+		}
+	}
+	
+	public boolean isCorked() {
+		return corked;
+	}
+	
+	/**
+	 * Pause the channel and stop reading from it, the kernel receive buffer fills up and the peer is throttled by TCP flow control.
+	 */
+	@Override
+	public void pause() {
+		synchronized (lock) {
+			if (!isOpen()) {
+				return;
+			}
+			super.pause();
+		}
+		
+		processor.updateReadInterest(this);
+	}
+	
+	@Override
+	public void resume() {
+		synchronized (lock) {
+			if (!isPaused()) {
+				return;
+			}
+			super.resume();
+		}
+		
+		processor.updateReadInterest(this);
+	}
+	
 	@Override
 	public Queue<byte[]> getWriteQueue() {
 		Queue<byte[]> q = new LinkedBlockingQueue<byte[]>();
@@ -116,6 +236,60 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 		semaphore.release();
 	}
 	
+	/**
+	 * Stop reading from the channel until {@link #resumeRead(int)} with the same reason, the read interest is cleared in its processor thread.
+	 * Unlike {@link #pause()} the channel state is not changed, so it is still writable.
+	 * 
+	 * @param reason one of <code>SUSPEND_READ_BY_*</code> bits, the read is resumed only after all the reasons are cleared.
+	 * @return <tt>true</tt> if the channel is suspended for the reason by this invocation.
+	 */
+	public boolean suspendRead(int reason) {
+		for (;;) {
+			int r = readSuspension.get();
+			if ((r & reason) == reason) {
+				return false;
+			}
+			if (readSuspension.compareAndSet(r, r | reason)) {
+				break;
+			}
+		}
+		
+		processor.updateReadInterest(this);
+		return true;
+	}
+	
+	/**
+	 * Restore reading from the channel suspended by {@link #suspendRead(int)}.
+	 * 
+	 * @param reason
+	 * @return <tt>true</tt> if the reason is cleared by this invocation.
+	 */
+	public boolean resumeRead(int reason) {
+		for (;;) {
+			int r = readSuspension.get();
+			if ((r & reason) == 0) {
+				return false;
+			}
+			if (readSuspension.compareAndSet(r, r & ~reason)) {
+				break;
+			}
+		}
+		
+		processor.updateReadInterest(this);
+		return true;
+	}
+	
+	public boolean isReadSuspended() {
+		return readSuspension.get() != 0;
+	}
+	
+	/**
+	 * @return <tt>true</tt> if the channel is neither paused nor read suspended.
+	 */
+	boolean isReadInterested() {
+		return !isPaused() && readSuspension.get() == 0;
+	}
+	
 	public int availablePermits() {
 		return semaphore.availablePermits();
 	}
@@ -159,12 +333,67 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 	
 	void setClosed() {
 		this.state = ChannelState.CLOSED;
+		
+		// wake up the writers blocked by write policy
+		synchronized (writabilityLock) {
+			writabilityLock.notifyAll();
+		}
+	}
+	
+	/**
+	 * Update queued bytes of the channel, the writability changes when it crosses the high or low water mark.
+	 * 
+	 * @param delta
+	 */
+	void updatePendingWriteBytes(long delta) {
+		long pending = pendingWriteBytes.addAndGet(delta);
+		if (highWaterMark <= 0) {
+			return;
+		}
+		
+		if ((writable && pending > highWaterMark) || (!writable && pending <= lowWaterMark)) {
+			updateWritability();
+		}
+	}
+	
+	private void updateWritability() {
+		boolean oldWritable, newWritable;
+		synchronized (writabilityLock) {
+			oldWritable = writable;
+			
+			// Loop until it is stable, other thread may update pending bytes and skip this check because it read the old writability.
+			for (;;) {
+				long pending = pendingWriteBytes.get();
+				boolean w = (writable ? pending <= highWaterMark : pending <= lowWaterMark);
+				if (w == writable) {
+					break;
+				}
+				writable = w;
+			}
+			
+			newWritable = writable;
+			if (newWritable) {
+				writabilityLock.notifyAll();
+			}
+		}
+		
+		if (oldWritable != newWritable) {
+			processor.fireChannelWritabilityChanged(this);
+		}
+	}
+	
+	long getPendingWriteBytes() {
+		return pendingWriteBytes.get();
 	}
 	
 	void setRemoteAddress(SocketAddress remoteAddress) {
 		this.remoteAddress = remoteAddress;
 	}
 	
+	NioProcessor getProcessor() {
+		return processor;
+	}
+	
 	SelectionKey getSelectionKey() {
 		return selectionKey;
 	}
@@ -177,6 +406,18 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 		return writeBufferQueue;
 	}
 	
+	List<ByteBuffer> getCoalescedBuffers() {
+		return coalescedBuffers;
+	}
+	
+	AdaptiveByteBuffer getCoalescingBuffer() {
+		return coalescingBuffer;
+	}
+	
+	void setCoalescingBuffer(AdaptiveByteBuffer coalescingBuffer) {
+		this.coalescingBuffer = coalescingBuffer;
+	}
+	
 	Queue<ChannelEvent<byte[]>> getEventQueue() {
 		return eventQueue;
 	}
@@ -189,12 +430,27 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 		this.eventProcessing = eventProcessing;
 	}
 	
-	boolean isReadable() {
-		return isOpen() && selectionKey.isValid() && selectionKey.isReadable();
+	/**
+	 * Claim the channel for event processing, only one dispatcher worker could hold the claim at one time.
+	 * 
+	 * @return <tt>true</tt> if the claim is acquired by this invocation.
+	 */
+	boolean scheduleEvent() {
+		return scheduleEvent.compareAndSet(false, true);
+	}
+	
+	void unscheduleEvent() {
+		scheduleEvent.set(false);
+	}
+	
+	boolean isReadReady() {
+		SelectionKey key = getSelectionKey();
+		return isOpen() && isReadInterested() && key.isValid() && key.isReadable();
 	}
 	
-	boolean isWritable() {
-		return (isOpen() || isPaused()) && selectionKey.isValid() && selectionKey.isWritable();
+	boolean isWriteReady() {
+		SelectionKey key = getSelectionKey();
+		return (isOpen() || isPaused()) && key.isValid() && key.isWritable();
 	}
 	
 	NioBufferSizePredictor getPredictor() {
@@ -208,6 +464,7 @@ abstract public class NioByteChannel extends AbstractIoByteChannel {
 	protected void close0() throws IOException { /* override this */ }
 	protected int readTcp(ByteBuffer buf) throws IOException { return 0; /* override this */ }
 	protected int writeTcp(ByteBuffer buf) throws IOException { return 0; /* override this */ }
+	protected long writeTcp(ByteBuffer[] bufs, int offset, int length) throws IOException { return 0; /* override this */ }
 	protected int writeUdp(ByteBuffer buf, SocketAddress target) throws IOException { return 0; /* override */ }
 	protected SocketAddress readUdp(ByteBuffer buf) throws IOException { return null; /* override this */ }
 	abstract protected SelectableChannel innerChannel();
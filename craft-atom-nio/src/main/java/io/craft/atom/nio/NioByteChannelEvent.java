@@ -20,8 +20,10 @@ public class NioByteChannelEvent extends AbstractNioByteChannelEvent {
 	private static final Logger LOG = LoggerFactory.getLogger(NioByteChannelEvent.class);
 	
 	
-	private final Object    parameter;
-	private final IoHandler handler  ;
+	private final Object     parameter ;
+	private final IoHandler  handler   ;
+	private       NioMetrics metrics   ;
+	private       long       createTime;
 	
 	
 	// ~ --------------------------------------------------------------------------------------------------------------
@@ -46,8 +48,33 @@ public class NioByteChannelEvent extends AbstractNioByteChannelEvent {
 	// ~ --------------------------------------------------------------------------------------------------------------
 	
 	
+	/**
+	 * Records queue wait time and handler time of this event to the metrics.
+	 * 
+	 * @param metrics
+	 */
+	void metrics(NioMetrics metrics) {
+		this.metrics = metrics;
+		this.createTime = System.nanoTime();
+	}
+	
 	@Override
 	public void fire() {
+		if (metrics == null) {
+			fire1();
+			return;
+		}
+		
+		long start = System.nanoTime();
+		metrics.queueWait(start - createTime);
+		try {
+			fire1();
+		} finally {
+			metrics.handled(System.nanoTime() - start);
+		}
+	}
+	
+	private void fire1() {
 		try {
 			fire0();
 		} catch (Exception e) {
@@ -62,7 +89,11 @@ public class NioByteChannelEvent extends AbstractNioByteChannelEvent {
 	private void fire0() {
 		switch (type) {
 		case CHANNEL_READ:
-			handler.channelRead(channel, (byte[]) parameter);
+			if (parameter instanceof NioPooledByteBuffer) {
+				fireChannelRead((NioPooledByteBuffer) parameter);
+			} else {
+				handler.channelRead(channel, (byte[]) parameter);
+			}
 			break;
 		case CHANNEL_FLUSH:
 			handler.channelFlush(channel, (byte[]) parameter);
@@ -82,9 +113,20 @@ public class NioByteChannelEvent extends AbstractNioByteChannelEvent {
 		case CHANNEL_CLOSED:
 			handler.channelClosed(channel);
 			break;
+		case CHANNEL_WRITABILITY_CHANGED:
+			handler.channelWritabilityChanged(channel);
+			break;
 		default:
 			throw new IllegalArgumentException("Unknown event type: " + type);
 		}
 	}
 	
+	private void fireChannelRead(NioPooledByteBuffer buf) {
+		try {
+			((NioByteBufferIoHandler) handler).channelRead(channel, buf);
+		} finally {
+			buf.release();
+		}
+	}
+	
 }
@@ -4,9 +4,9 @@ import io.craft.atom.io.ChannelEventType;
 import io.craft.atom.io.IoHandler;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 import io.craft.atom.util.schedule.ExpirationListener;
-import io.craft.atom.util.schedule.TimingWheel;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel.Timeout;
 
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import lombok.ToString;
@@ -27,10 +27,10 @@ public class NioChannelIdleTimer {
 	private static final Logger LOG      = LoggerFactory.getLogger(NioChannelIdleTimer.class); 
 
 
-	private TimingWheel<NioByteChannel> timingWheel    ;
-	private NioChannelEventDispatcher   dispatcher     ;
-	private IoHandler                   handler        ;
-	private int                         timeoutInMillis;
+	private HierarchicalTimingWheel<NioByteChannel> timingWheel    ;
+	private NioChannelEventDispatcher               dispatcher     ;
+	private IoHandler                               handler        ;
+	private int                                     timeoutInMillis;
 	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
@@ -42,22 +42,39 @@ public class NioChannelIdleTimer {
 		this.timeoutInMillis = timeoutInMillis;
 		if (timeoutInMillis > 0) {
 			int tickDuration = (timeoutInMillis / 100 == 0 ? 10 : timeoutInMillis / 100 );
-			this.timingWheel = new TimingWheel<NioByteChannel>(tickDuration, 100, TimeUnit.MILLISECONDS);
+			this.timingWheel = new HierarchicalTimingWheel<NioByteChannel>(tickDuration, 100, TimeUnit.MILLISECONDS);
 			this.timingWheel.addExpirationListener(new NioChannelIdleListener());
 			this.timingWheel.start();
 		}
 	}
 	
 	void add(NioByteChannel channel) {
-		timingWheel.add(channel);
+		if (timingWheel == null) {
+			return;
+		}
+		
+		schedule(channel, timeoutInMillis);
 	}
 	
 	void remove(NioByteChannel channel) {
-		timingWheel.remove(channel);
+		Timeout<NioByteChannel> timeout = channel.idleTimeout;
+		if (timeout != null) {
+			timeout.cancel();
+		}
+	}
+	
+	int aliveChannelCount() {
+		return (timingWheel == null ? 0 : timingWheel.size());
+	}
+	
+	void stop() {
+		if (timingWheel != null) {
+			timingWheel.stop();
+		}
 	}
 	
-	Set<NioByteChannel> aliveChannels() {
-		return timingWheel.elements();
+	private void schedule(NioByteChannel channel, long delayInMillis) {
+		channel.idleTimeout = timingWheel.add(channel, delayInMillis, TimeUnit.MILLISECONDS);
 	}
 	
 	private void fireChannelIdle(NioByteChannel channel) {
@@ -70,18 +87,29 @@ public class NioChannelIdleTimer {
 	
 	private class NioChannelIdleListener implements ExpirationListener<NioByteChannel> {
 
+		/**
+		 * The deadline of a channel is its last io time plus timeout, the channel is rescheduled to the true next deadline, 
+		 * so an active channel is touched once per timeout period and nothing is done with io path.
+		 */
 		@Override
 		public void expired(NioByteChannel channel) {
-			long now = System.currentTimeMillis();
-			long elapse = now - channel.getLastIoTime();
-			if (elapse > timeoutInMillis) {
-				fireChannelIdle(channel);
+			if (!channel.isValid()) {
+				return;
 			}
-			if (channel.isValid()) {
-				timingWheel.add(channel);
+			
+			long idle = System.currentTimeMillis() - channel.getLastIoTime();
+			long delay = timeoutInMillis - idle;
+			if (delay <= 0) {
+				LOG.debug("[CRAFT-ATOM-NIO] Channel idle |channel={}, idle={}|", channel, idle);
+				fireChannelIdle(channel);
+				delay = timeoutInMillis;
 			}
+			schedule(channel, delay);
 			
-			LOG.info("[CRAFT-ATOM-NIO] Nio active channel count is |{}|", timingWheel.size());
+			// channel may be closed during rescheduling, and its close missed the new timeout.
+			if (!channel.isValid()) {
+				remove(channel);
+			}
 		}
 		
 	}
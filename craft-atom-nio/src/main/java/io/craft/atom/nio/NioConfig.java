@@ -1,6 +1,7 @@
 package io.craft.atom.nio;
 
 import io.craft.atom.io.IoConfig;
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -12,15 +13,31 @@ import lombok.ToString;
  * @author mindwind
  * @version 1.0, Feb 21, 2013
  */
-@ToString(callSuper = true, of = { "processorPoolSize", "executorSize", "readWritefair", "channelEventSize", "totalEventSize" })
+@ToString(callSuper = true, of = { "processorPoolSize", "executorSize", "readWritefair", "channelEventSize", "totalEventSize", "gatheringWriteSize", "coalescingWriteThreshold", "directBuffer", "directMemoryBudget", "writeBufferLowWaterMark", "writeBufferHighWaterMark", "writePolicy", "maxReadsPerSelect", "maxReadBytesPerSelect", "processorSelectionStrategy", "channelMigration", "busyPoll", "busyPollSpins", "busyPollYields", "busyPollParkNanos", "metrics" })
 abstract public class NioConfig extends IoConfig {
 
 	
-	@Getter         protected int     processorPoolSize = Runtime.getRuntime().availableProcessors();
-	@Getter @Setter protected int     executorSize      = processorPoolSize << 3                    ;
-	@Getter @Setter protected boolean readWritefair     = true                                      ;
-	@Getter         protected int     channelEventSize  = Integer.MAX_VALUE                         ;
-	@Getter         protected int     totalEventSize    = Integer.MAX_VALUE                         ;
+	@Getter         protected int                           processorPoolSize          = Runtime.getRuntime().availableProcessors();
+	@Getter @Setter protected int                           executorSize               = processorPoolSize << 3                    ;
+	@Getter @Setter protected boolean                       readWritefair              = true                                      ;
+	@Getter         protected int                           channelEventSize           = Integer.MAX_VALUE                         ;
+	@Getter         protected int                           totalEventSize             = Integer.MAX_VALUE                         ;
+	@Getter         protected int                           gatheringWriteSize         = 0                                         ;
+	@Getter         protected int                           coalescingWriteThreshold   = 0                                         ;
+	@Getter @Setter protected boolean                       directBuffer               = false                                     ;
+	@Getter         protected long                          directMemoryBudget         = 64L << 20                                 ;
+	@Getter         protected int                           writeBufferLowWaterMark    = 0                                         ;
+	@Getter         protected int                           writeBufferHighWaterMark   = 0                                         ;
+	@Getter @Setter protected NioWritePolicy                writePolicy                = NioWritePolicy.BUFFER                     ;
+	@Getter         protected int                           maxReadsPerSelect          = 1                                         ;
+	@Getter         protected long                          maxReadBytesPerSelect      = Long.MAX_VALUE                            ;
+	@Getter         protected NioProcessorSelectionStrategy processorSelectionStrategy = new NioHashProcessorSelectionStrategy()   ;
+	@Getter @Setter protected boolean                       channelMigration           = false                                     ;
+	@Getter @Setter protected boolean                       busyPoll                   = false                                     ;
+	@Getter         protected int                           busyPollSpins              = 1000                                      ;
+	@Getter         protected int                           busyPollYields             = 100                                       ;
+	@Getter         protected long                          busyPollParkNanos          = 50 * 1000                                 ;
+	@Getter @Setter protected boolean                       metrics                    = false                                     ;
 	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
@@ -50,4 +67,141 @@ abstract public class NioConfig extends IoConfig {
 		this.totalEventSize = totalEventSize;
 	}
 	
+	/**
+	 * Max number of queued buffers flushed by a single gathering write, only for TCP.
+	 * <code>0</code> or <code>1</code> means gathering write is disabled and buffers are flushed one by one.
+	 * 
+	 * @param gatheringWriteSize
+	 */
+	public void setGatheringWriteSize(int gatheringWriteSize) {
+		if (gatheringWriteSize < 0) {
+			gatheringWriteSize = 0;
+		}
+		
+		this.gatheringWriteSize = gatheringWriteSize;
+	}
+	
+	public boolean isGatheringWrite() {
+		return gatheringWriteSize > 1;
+	}
+	
+	/**
+	 * Queued buffers smaller than the threshold in bytes are packed into one pooled staging buffer up to the threshold 
+	 * and flushed with one system call, only for TCP. <code>0</code> means coalescing write is disabled.
+	 * 
+	 * @param coalescingWriteThreshold
+	 */
+	public void setCoalescingWriteThreshold(int coalescingWriteThreshold) {
+		if (coalescingWriteThreshold < 0) {
+			coalescingWriteThreshold = 0;
+		}
+		
+		this.coalescingWriteThreshold = coalescingWriteThreshold;
+	}
+	
+	public boolean isCoalescingWrite() {
+		return coalescingWriteThreshold > 0;
+	}
+	
+	/**
+	 * Hard limit of direct memory in bytes for each processor when direct buffer is enabled, default is 64M.
+	 * 
+	 * @param directMemoryBudget
+	 */
+	public void setDirectMemoryBudget(long directMemoryBudget) {
+		if (directMemoryBudget <= 0) {
+			throw new IllegalArgumentException("direct memory budget must > 0");
+		}
+		
+		this.directMemoryBudget = directMemoryBudget;
+	}
+	
+	/**
+	 * Byte based water marks of channel write buffer queue, channel becomes unwritable when queued bytes exceed the high water mark,
+	 * and becomes writable again once queued bytes drop below the low water mark. 
+	 * <code>0</code> high water mark means the write buffer queue is unbounded, it is default.
+	 * 
+	 * @param low
+	 * @param high
+	 */
+	public void setWriteBufferWaterMark(int low, int high) {
+		if (high < 0 || low < 0) {
+			throw new IllegalArgumentException("water mark must >= 0");
+		}
+		
+		if (high > 0 && low > high) {
+			throw new IllegalArgumentException("low water mark must <= high water mark");
+		}
+		
+		this.writeBufferLowWaterMark  = low ;
+		this.writeBufferHighWaterMark = high;
+	}
+	
+	public boolean isWriteBufferBounded() {
+		return writeBufferHighWaterMark > 0;
+	}
+	
+	/**
+	 * Max reads of a channel in one select cycle, a busy channel could drain more of its socket per wakeup if it is greater than <code>1</code>.
+	 * Default is <code>1</code>, one read buffer per select cycle.
+	 * 
+	 * @param maxReadsPerSelect
+	 */
+	public void setMaxReadsPerSelect(int maxReadsPerSelect) {
+		if (maxReadsPerSelect <= 0) {
+			throw new IllegalArgumentException("max reads per select must > 0");
+		}
+		
+		this.maxReadsPerSelect = maxReadsPerSelect;
+	}
+	
+	/**
+	 * Max read bytes of a channel in one select cycle, it bounds the read budget with max reads per select together.
+	 * <code>0</code> or negative means no limit, it is default.
+	 * 
+	 * @param maxReadBytesPerSelect
+	 */
+	public void setMaxReadBytesPerSelect(long maxReadBytesPerSelect) {
+		if (maxReadBytesPerSelect <= 0) {
+			maxReadBytesPerSelect = Long.MAX_VALUE;
+		}
+		
+		this.maxReadBytesPerSelect = maxReadBytesPerSelect;
+	}
+	
+	/**
+	 * Strategy selects a processor for each new channel, default is {@link NioHashProcessorSelectionStrategy}.
+	 * 
+	 * @param processorSelectionStrategy
+	 */
+	public void setProcessorSelectionStrategy(NioProcessorSelectionStrategy processorSelectionStrategy) {
+		if (processorSelectionStrategy == null) {
+			throw new IllegalArgumentException("processor selection strategy can not be null");
+		}
+		
+		this.processorSelectionStrategy = processorSelectionStrategy;
+	}
+	
+	/**
+	 * Backoff of busy poll processor when no I/O is ready, it polls with <code>selectNow()</code> <tt>spins</tt> times,
+	 * then yields <tt>yields</tt> times and then parks <tt>parkNanos</tt> nanoseconds between polls until I/O is ready again.
+	 * A busy poll processor burns a core to cut the wakeup latency of blocking select, it is enabled by {@link #setBusyPoll(boolean)}.
+	 * 
+	 * @param spins
+	 * @param yields
+	 * @param parkNanos
+	 */
+	public void setBusyPollBackoff(int spins, int yields, long parkNanos) {
+		if (spins < 0 || yields < 0) {
+			throw new IllegalArgumentException("busy poll spins and yields must >= 0");
+		}
+		if (parkNanos <= 0) {
+			throw new IllegalArgumentException("busy poll park nanos must > 0");
+		}
+		
+		this.busyPollSpins     = spins    ;
+		this.busyPollYields    = yields   ;
+		this.busyPollParkNanos = parkNanos;
+	}
+	
 }
@@ -4,7 +4,6 @@ import io.craft.atom.io.Channel;
 import io.craft.atom.io.IoConnector;
 import io.craft.atom.io.IoConnectorX;
 import io.craft.atom.io.IoHandler;
-import io.craft.atom.io.IoReactorX;
 import io.craft.atom.nio.api.NioConnectorConfig;
 import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
@@ -157,11 +156,15 @@ abstract public class NioConnector extends NioReactor implements IoConnector {
 	@Override
 	public IoConnectorX x() {
 		NioConnectorX x = new NioConnectorX();
-		IoReactorX rx = super.x();
+		NioReactorX rx = (NioReactorX) super.x();
 		x.setNewChannelCount(rx.newChannelCount());
 		x.setFlushingChannelCount(rx.flushingChannelCount());
 		x.setClosingChannelCount(rx.closingChannelCount());
 		x.setAliveChannelCount(rx.aliveChannelCount());
+		x.setThrottledChannelCount(rx.getThrottledChannelCount());
+		x.setThrottleCount(rx.getThrottleCount());
+		x.setOverBudgetEventCount(rx.getOverBudgetEventCount());
+		x.setMetrics(rx.getMetrics());
 		xByProtocol(x);
 		return x;
 	}
@@ -0,0 +1,21 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
+import lombok.ToString;
+
+/**
+ * An {@link NioProcessorSelectionStrategy} selects processor by channel id, it is the default strategy.
+ * It is the cheapest one and spreads channels evenly by count, but is not aware of the traffic of channels.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString
+public class NioHashProcessorSelectionStrategy implements NioProcessorSelectionStrategy {
+
+	@Override
+	public NioProcessor select(NioProcessor[] processors, NioByteChannel channel) {
+		return processors[Math.abs((int) (channel.getId() % processors.length))];
+	}
+
+}
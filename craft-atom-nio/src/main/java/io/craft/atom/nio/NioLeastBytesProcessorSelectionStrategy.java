@@ -0,0 +1,37 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
+import lombok.ToString;
+
+/**
+ * An {@link NioProcessorSelectionStrategy} selects the processor which has the least recent read and written bytes,
+ * ties are broken by channel count. It suits long-lived channels with very uneven traffic.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see NioProcessor#recentByteCount()
+ */
+@ToString
+public class NioLeastBytesProcessorSelectionStrategy implements NioProcessorSelectionStrategy {
+
+	@Override
+	public NioProcessor select(NioProcessor[] processors, NioByteChannel channel) {
+		int n = processors.length;
+		int start = Math.abs((int) (channel.getId() % n));
+		NioProcessor selected = processors[start];
+		long leastBytes = selected.recentByteCount();
+		int leastChannels = selected.channelCount();
+		for (int i = 1; i < n; i++) {
+			NioProcessor p = processors[(start + i) % n];
+			long bytes = p.recentByteCount();
+			int channels = p.channelCount();
+			if (bytes < leastBytes || (bytes == leastBytes && channels < leastChannels)) {
+				selected = p;
+				leastBytes = bytes;
+				leastChannels = channels;
+			}
+		}
+		return selected;
+	}
+
+}
@@ -0,0 +1,34 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
+import lombok.ToString;
+
+/**
+ * An {@link NioProcessorSelectionStrategy} selects the processor which has the least channels,
+ * it keeps channel count balanced when channels are closed unevenly.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString
+public class NioLeastChannelsProcessorSelectionStrategy implements NioProcessorSelectionStrategy {
+
+	@Override
+	public NioProcessor select(NioProcessor[] processors, NioByteChannel channel) {
+		// scan from the hashed processor, so ties are broken by channel id rather than always the first processor.
+		int n = processors.length;
+		int start = Math.abs((int) (channel.getId() % n));
+		NioProcessor selected = processors[start];
+		int least = selected.channelCount();
+		for (int i = 1; i < n && least > 0; i++) {
+			NioProcessor p = processors[(start + i) % n];
+			int count = p.channelCount();
+			if (count < least) {
+				selected = p;
+				least = count;
+			}
+		}
+		return selected;
+	}
+
+}
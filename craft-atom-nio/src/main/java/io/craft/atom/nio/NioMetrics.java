@@ -0,0 +1,143 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.util.metric.LatencyHistogram;
+import io.craft.atom.util.metric.StripedCounter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.ToString;
+
+/**
+ * Metrics of a processor, it is created only if metrics is enabled, so it costs nothing when off.
+ * <p>
+ * Byte and event counters are striped, queue wait time is the time from an event is dispatched to it is fired by dispatcher,
+ * handler time is the time the handler takes to consume it, and loop time is the time from processor wakeup to next select.
+ * All the times are in nanoseconds.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see NioConfig#isMetrics()
+ */
+@ToString(of = { "readBytes", "writtenBytes", "dispatchedEvents", "queueWaitTime", "handlerTime", "loopTime" })
+public class NioMetrics {
+
+
+	private final StripedCounter   readBytes        = new StripedCounter()  ;
+	private final StripedCounter   writtenBytes     = new StripedCounter()  ;
+	private final StripedCounter   dispatchedEvents = new StripedCounter()  ;
+	private final LatencyHistogram queueWaitTime    = new LatencyHistogram();
+	private final LatencyHistogram handlerTime      = new LatencyHistogram();
+	private final LatencyHistogram loopTime         = new LatencyHistogram();
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	void read(long bytes) {
+		readBytes.add(bytes);
+	}
+
+	void written(long bytes) {
+		writtenBytes.add(bytes);
+	}
+
+	void dispatched() {
+		dispatchedEvents.increment();
+	}
+
+	void queueWait(long nanos) {
+		queueWaitTime.record(nanos);
+	}
+
+	void handled(long nanos) {
+		handlerTime.record(nanos);
+	}
+
+	void loop(long nanos) {
+		loopTime.record(nanos);
+	}
+
+	/**
+	 * Adds other metrics to this one, it is used to aggregate metrics of processors.
+	 *
+	 * @param other
+	 */
+	void add(NioMetrics other) {
+		readBytes.add(other.readBytes.sum());
+		writtenBytes.add(other.writtenBytes.sum());
+		dispatchedEvents.add(other.dispatchedEvents.sum());
+		queueWaitTime.add(other.queueWaitTime);
+		handlerTime.add(other.handlerTime);
+		loopTime.add(other.loopTime);
+	}
+
+	/**
+	 * @return a copy of current metrics.
+	 */
+	NioMetrics copy() {
+		NioMetrics copy = new NioMetrics();
+		copy.add(this);
+		return copy;
+	}
+
+	/**
+	 * Resets all the counters and histograms.
+	 */
+	public void reset() {
+		readBytes.reset();
+		writtenBytes.reset();
+		dispatchedEvents.reset();
+		queueWaitTime.reset();
+		handlerTime.reset();
+		loopTime.reset();
+	}
+
+	/**
+	 * @return flat named metrics, latencies are reported as mean, p50, p99, p999 and max.
+	 */
+	public Map<String, Long> toMap() {
+		Map<String, Long> map = new LinkedHashMap<String, Long>();
+		map.put("readBytes", readBytes.sum());
+		map.put("writtenBytes", writtenBytes.sum());
+		map.put("dispatchedEvents", dispatchedEvents.sum());
+		put(map, "queueWaitTime", queueWaitTime);
+		put(map, "handlerTime", handlerTime);
+		put(map, "loopTime", loopTime);
+		return map;
+	}
+
+	private void put(Map<String, Long> map, String name, LatencyHistogram h) {
+		map.put(name + ".count", h.count());
+		map.put(name + ".mean", h.mean());
+		map.put(name + ".p50", h.percentile(0.5));
+		map.put(name + ".p99", h.percentile(0.99));
+		map.put(name + ".p999", h.percentile(0.999));
+		map.put(name + ".max", h.max());
+	}
+
+	public long getReadBytes() {
+		return readBytes.sum();
+	}
+
+	public long getWrittenBytes() {
+		return writtenBytes.sum();
+	}
+
+	public long getDispatchedEvents() {
+		return dispatchedEvents.sum();
+	}
+
+	public LatencyHistogram getQueueWaitTime() {
+		return queueWaitTime;
+	}
+
+	public LatencyHistogram getHandlerTime() {
+		return handlerTime;
+	}
+
+	public LatencyHistogram getLoopTime() {
+		return loopTime;
+	}
+
+}
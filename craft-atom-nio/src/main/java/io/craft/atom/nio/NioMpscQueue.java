@@ -0,0 +1,152 @@
+package io.craft.atom.nio;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An unbounded lock-free multi-producer single-consumer queue.
+ * <p>
+ * Producers only contend on one atomic swap of the tail, consumer never contends with producers.
+ * {@link #offer(Object)} may be called by any thread, {@link #poll()}, {@link #peek()} and {@link #remove()}
+ * must only be called by the single consumer thread, e.g. the {@link NioProcessor} thread which flushes the channel.
+ * <p>
+ * The iterator is weakly consistent and read only, {@link #size()} is not a constant-time operation.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class NioMpscQueue<E> extends AbstractQueue<E> {
+
+
+	private final    AtomicReference<Node<E>> tail;
+	private volatile Node<E>                  head;
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	public NioMpscQueue() {
+		Node<E> stub = new Node<E>(null);
+		this.head = stub;
+		this.tail = new AtomicReference<Node<E>>(stub);
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	@Override
+	public boolean offer(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+
+		Node<E> node = new Node<E>(e);
+		Node<E> prev = tail.getAndSet(node);
+
+		// between the swap and the link consumer sees the queue as empty, producer then schedules a flush after offer returns.
+		prev.next = node;
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		Node<E> next = head.next;
+		if (next == null) {
+			return null;
+		}
+
+		E e = next.value;
+		next.value = null;
+		head = next;
+		return e;
+	}
+
+	@Override
+	public E peek() {
+		Node<E> next = head.next;
+		return (next == null ? null : next.value);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	@Override
+	public int size() {
+		int size = 0;
+		for (Node<E> n = head.next; n != null && size < Integer.MAX_VALUE; n = n.next) {
+			if (n.value != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class Node<E> {
+
+		private volatile E       value;
+		private volatile Node<E> next ;
+
+		Node(E value) {
+			this.value = value;
+		}
+	}
+
+	private class Itr implements Iterator<E> {
+
+		private Node<E> node;
+		private E       item;
+
+		Itr() {
+			advance(head);
+		}
+
+		private void advance(Node<E> from) {
+			for (Node<E> n = from.next; n != null; n = n.next) {
+				E e = n.value;
+				if (e != null) {
+					node = n;
+					item = e;
+					return;
+				}
+			}
+			node = null;
+			item = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return node != null;
+		}
+
+		@Override
+		public E next() {
+			if (node == null) {
+				throw new NoSuchElementException();
+			}
+
+			E e = item;
+			advance(node);
+			return e;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
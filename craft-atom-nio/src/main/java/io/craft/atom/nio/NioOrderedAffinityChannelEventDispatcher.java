@@ -0,0 +1,203 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.ChannelEvent;
+import io.craft.atom.nio.spi.AbstractNioChannelEventDispatcher;
+import io.craft.atom.util.thread.NamedThreadFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.ToString;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link NioOrderedAffinityChannelEventDispatcher} that maintains order of {@link NioByteChannelEvent} in the same channel.
+ * It use a new thread pool for event dispatch, isolate io process thread and event process thread.
+ * <p>
+ * Unlike {@link NioOrderedThreadPoolChannelEventDispatcher}, there is no global channel queue and no monitor,
+ * each channel is hashed to a home worker by its id, and the channel is claimed by an atomic flag before it is queued,
+ * so a channel is in at most one worker queue and is processed by at most one worker at one time.
+ * An idle worker steals channels from the queues of busy workers, the stolen channel goes back to its home worker next time.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString(callSuper = true, of = { "workers" })
+public class NioOrderedAffinityChannelEventDispatcher extends AbstractNioChannelEventDispatcher {
+
+
+	private static final Logger LOG        = LoggerFactory.getLogger(NioOrderedAffinityChannelEventDispatcher.class);
+	private static final int    SPIN_COUNT = 256                                                                    ;
+	private static final long   PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10)                                      ;
+
+
+	private final    Worker[]        workers                         ;
+	private final    AtomicInteger   idleCount = new AtomicInteger() ;
+	private final    ExecutorService executor                        ;
+	private volatile boolean         shutdown  = false               ;
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	public NioOrderedAffinityChannelEventDispatcher() {
+		this(Runtime.getRuntime().availableProcessors() * 8, Integer.MAX_VALUE);
+	}
+
+	public NioOrderedAffinityChannelEventDispatcher(int executorSize, int totalEventSize) {
+		super(totalEventSize);
+
+		if (executorSize <= 0) {
+			executorSize = Runtime.getRuntime().availableProcessors() * 8;
+		}
+
+		this.workers  = new Worker[executorSize];
+		this.executor = Executors.newFixedThreadPool(executorSize, new NamedThreadFactory("craft-atom-nio-affinity-dispatcher"));
+		for (int i = 0; i < executorSize; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (int i = 0; i < executorSize; i++) {
+			executor.execute(workers[i]);
+		}
+	}
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	@Override
+	public void dispatch(ChannelEvent<byte[]> event) {
+		NioByteChannel channel = (NioByteChannel) event.getChannel();
+		beforeDispatch(channel);
+		channel.add(event);
+		if (channel.scheduleEvent()) {
+			schedule(channel);
+		}
+	}
+
+	private void schedule(NioByteChannel channel) {
+		Worker home = workers[Math.abs((int) (channel.getId() % workers.length))];
+		home.queue.offer(channel);
+		if (home.parked) {
+			LockSupport.unpark(home.thread);
+		} else if (idleCount.get() > 0) {
+			// home worker is busy, wake an idle one to steal
+			signalIdle(home.index);
+		}
+	}
+
+	private void signalIdle(int from) {
+		for (int i = 1; i < workers.length; i++) {
+			Worker w = workers[(from + i) % workers.length];
+			if (w.parked) {
+				LockSupport.unpark(w.thread);
+				return;
+			}
+		}
+	}
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		executor.shutdownNow();
+	}
+
+	private class Worker implements Runnable {
+
+		private final    int                   index                                             ;
+		private final    Queue<NioByteChannel> queue  = new ConcurrentLinkedQueue<NioByteChannel>();
+		private volatile Thread                thread                                            ;
+		private volatile boolean               parked = false                                    ;
+
+		Worker(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void run() {
+			thread = Thread.currentThread();
+			while (!shutdown && !thread.isInterrupted()) {
+				NioByteChannel channel = next();
+				if (channel != null) {
+					process(channel);
+					continue;
+				}
+
+				// publish the parked state before the last check, so a concurrent schedule either sees it or its channel is seen here
+				parked = true;
+				idleCount.incrementAndGet();
+				try {
+					channel = next();
+					if (channel != null) {
+						process(channel);
+						continue;
+					}
+					LockSupport.parkNanos(this, PARK_NANOS);
+				} finally {
+					idleCount.decrementAndGet();
+					parked = false;
+				}
+			}
+		}
+
+		private NioByteChannel next() {
+			NioByteChannel channel = queue.poll();
+			if (channel != null) {
+				return channel;
+			}
+
+			// steal from others
+			for (int i = 1; i < workers.length; i++) {
+				channel = workers[(index + i) % workers.length].queue.poll();
+				if (channel != null) {
+					return channel;
+				}
+			}
+			return null;
+		}
+
+		private void process(NioByteChannel channel) {
+			try {
+				fire(channel);
+			} catch (Throwable t) {
+				LOG.warn("[CRAFT-ATOM-NIO] Fire event exception", t);
+			} finally {
+				channel.unscheduleEvent();
+			}
+
+			// if remaining events and no one else claims the channel, so re-schedule it
+			if (!channel.getEventQueue().isEmpty() && channel.scheduleEvent()) {
+				schedule(channel);
+			}
+		}
+
+		private void fire(NioByteChannel channel) {
+			int count = 0;
+			Queue<ChannelEvent<byte[]>> q = channel.getEventQueue();
+			for (ChannelEvent<byte[]> event = q.poll(); event != null; event = q.poll()) {
+				try {
+					event.fire();
+				} finally {
+					afterDispatch(channel);
+				}
+				count++;
+				if (count > SPIN_COUNT) {
+					// quit loop to avoid stick same worker thread by same channel
+					break;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.ChannelEvent;
+import io.craft.atom.nio.spi.AbstractNioChannelEventDispatcher;
+import io.craft.atom.util.thread.NamedThreadFactory;
+
+import java.util.Queue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.ToString;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link NioOrderedElasticChannelEventDispatcher} that maintains order of {@link NioByteChannelEvent} in the same channel.
+ * It is suitable for {@link io.craft.atom.io.IoHandler} which blocks on remote calls, e.g. redis or jdbc.
+ * <p>
+ * Each channel has a serial executor, only when the channel has pending events a task of the channel is submitted
+ * to a shared elastic thread pool, the task fires a batch of events in order and then resubmits itself if more events are pending.
+ * A channel blocked in handler only holds one thread, tasks are handed off to idle threads and a new thread is created only when none is idle
+ * up to <tt>maxThreads</tt>, threads idle for <tt>keepAliveInSeconds</tt> are reclaimed, so thread count follows the number of concurrently busy channels.
+ * When all the <tt>maxThreads</tt> are busy the dispatching thread fires the events itself, it throttles the reads of the processor.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString(callSuper = true, of = { "executor" })
+public class NioOrderedElasticChannelEventDispatcher extends AbstractNioChannelEventDispatcher {
+
+
+	private static final Logger LOG                = LoggerFactory.getLogger(NioOrderedElasticChannelEventDispatcher.class);
+	private static final int    SPIN_COUNT         = 256                                                                   ;
+	private static final int    CORE_THREADS       = Runtime.getRuntime().availableProcessors()                            ;
+	private static final int    MAX_THREADS        = 4096                                                                  ;
+	private static final int    KEEP_ALIVE_SECONDS = 60                                                                    ;
+
+
+	private final ThreadPoolExecutor executor;
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	public NioOrderedElasticChannelEventDispatcher() {
+		this(MAX_THREADS, KEEP_ALIVE_SECONDS, Integer.MAX_VALUE);
+	}
+
+	public NioOrderedElasticChannelEventDispatcher(int maxThreads, int keepAliveInSeconds, int totalEventSize) {
+		super(totalEventSize);
+
+		if (maxThreads <= 0) {
+			maxThreads = MAX_THREADS;
+		}
+		if (keepAliveInSeconds <= 0) {
+			keepAliveInSeconds = KEEP_ALIVE_SECONDS;
+		}
+
+		// synchronous handoff, a task is taken by an idle thread or a new thread is created when none is idle until max size,
+		// a task overflows max size runs in the dispatching thread.
+		this.executor = new ThreadPoolExecutor(Math.min(CORE_THREADS, maxThreads), maxThreads, keepAliveInSeconds, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new NamedThreadFactory("craft-atom-nio-elastic-dispatcher"), new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	@Override
+	public void dispatch(ChannelEvent<byte[]> event) {
+		NioByteChannel channel = (NioByteChannel) event.getChannel();
+		beforeDispatch(channel);
+		channel.add(event);
+		if (channel.scheduleEvent()) {
+			executor.execute(new SerialTask(channel));
+		}
+	}
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	@Override
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	int largestThreadCount() {
+		return executor.getLargestPoolSize();
+	}
+
+	private class SerialTask implements Runnable {
+
+		private final NioByteChannel channel;
+
+		SerialTask(NioByteChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void run() {
+			// if remaining events and no one else claims the channel, go on in this thread, the other channels are never queued behind it.
+			do {
+				try {
+					fire();
+				} catch (Throwable t) {
+					LOG.warn("[CRAFT-ATOM-NIO] Fire event exception", t);
+				} finally {
+					channel.unscheduleEvent();
+				}
+			} while (!channel.getEventQueue().isEmpty() && channel.scheduleEvent());
+		}
+
+		private void fire() {
+			int count = 0;
+			Queue<ChannelEvent<byte[]>> q = channel.getEventQueue();
+			for (ChannelEvent<byte[]> event = q.poll(); event != null; event = q.poll()) {
+				try {
+					event.fire();
+				} finally {
+					afterDispatch(channel);
+				}
+				count++;
+				if (count > SPIN_COUNT) {
+					break;
+				}
+			}
+		}
+	}
+
+}
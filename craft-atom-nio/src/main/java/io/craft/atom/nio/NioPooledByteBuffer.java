@@ -0,0 +1,115 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.util.buffer.AdaptiveByteBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.ToString;
+
+/**
+ * A reference counted read buffer allocated from the pool of {@link NioProcessor}.
+ * <p>
+ * Reference count is <code>1</code> once allocated, {@link #retain()} increases it and {@link #release()} decreases it,
+ * the buffer is recycled to the processor pool when reference count reaches <code>0</code>, 
+ * after that any access to the buffer causes {@link IllegalStateException}.
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see NioByteBufferIoHandler
+ */
+@ToString(of = { "buf", "refCnt" })
+public class NioPooledByteBuffer {
+	
+	
+	private final AdaptiveByteBuffer buf                            ;
+	private final NioProcessor       processor                      ;
+	private final AtomicInteger      refCnt    = new AtomicInteger(1);
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	NioPooledByteBuffer(AdaptiveByteBuffer buf, NioProcessor processor) {
+		this.buf       = buf;
+		this.processor = processor;
+	}
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	/**
+	 * @return the underlying nio byte buffer, it is only valid before the buffer released.
+	 */
+	public ByteBuffer buf() {
+		if (refCnt.get() <= 0) {
+			throw new IllegalStateException("Buffer has been released already.");
+		}
+		return buf.buf();
+	}
+	
+	/**
+	 * @return a copy of remaining bytes of the buffer, position of the buffer is not changed.
+	 */
+	public byte[] bytes() {
+		ByteBuffer b = buf().duplicate();
+		byte[] bytes = new byte[b.remaining()];
+		b.get(bytes);
+		return bytes;
+	}
+	
+	/**
+	 * @return current reference count.
+	 */
+	public int refCnt() {
+		return refCnt.get();
+	}
+	
+	/**
+	 * Increases the reference count by <code>1</code>.
+	 * 
+	 * @return this buffer
+	 */
+	public NioPooledByteBuffer retain() {
+		for (;;) {
+			int cnt = refCnt.get();
+			if (cnt <= 0) {
+				throw new IllegalStateException("Buffer has been released already.");
+			}
+			if (refCnt.compareAndSet(cnt, cnt + 1)) {
+				return this;
+			}
+		}
+	}
+	
+	/**
+	 * Decreases the reference count by <code>1</code> and recycles the buffer if reference count reaches <code>0</code>.
+	 * 
+	 * @return <tt>true</tt> if and only if the reference count reaches <code>0</code> and the buffer is recycled.
+	 */
+	public boolean release() {
+		int cnt = refCnt.decrementAndGet();
+		if (cnt == 0) {
+			processor.recycle(this);
+			return true;
+		}
+		if (cnt < 0) {
+			refCnt.incrementAndGet();
+			throw new IllegalStateException("Buffer has been released already.");
+		}
+		return false;
+	}
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	/**
+	 * Returns the buffer to the allocator, it must be called in the processor thread which allocates it.
+	 */
+	void free() {
+		buf.free();
+	}
+
+}
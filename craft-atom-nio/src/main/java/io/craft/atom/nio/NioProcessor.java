@@ -5,27 +5,34 @@ import io.craft.atom.io.IoHandler;
 import io.craft.atom.io.IoProcessor;
 import io.craft.atom.io.IoProcessorX;
 import io.craft.atom.io.IoProtocol;
+import io.craft.atom.nio.api.NioAcceptorConfig;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+import io.craft.atom.util.buffer.AdaptiveByteBuffer;
+import io.craft.atom.util.buffer.CachedBufferAllocator;
 import io.craft.atom.util.thread.NamedThreadFactory;
 
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
-import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import lombok.ToString;
 
@@ -39,39 +46,83 @@ import org.slf4j.LoggerFactory;
  * @author mindwind
  * @version 1.0, Feb 22, 2013
  */
-@ToString(callSuper = true, of = { "config", "newChannels", "flushingChannels", "closingChannels", "udpChannels" })
+@ToString(callSuper = true, of = { "config", "newChannels", "flushingChannels", "closingChannels" })
 public class NioProcessor extends NioReactor implements IoProcessor {
 	
 	
-	private static final Logger LOG              = LoggerFactory.getLogger(NioProcessor.class);
-	private static final long   FLUSH_SPIN_COUNT = 256                                        ;
-	private static final long   SELECT_TIMEOUT   = 1000L                                      ;
-	
-	
-	private final    Queue<NioByteChannel>          newChannels       = new ConcurrentLinkedQueue<NioByteChannel>()    ;
-    private final    Queue<NioByteChannel>          flushingChannels  = new ConcurrentLinkedQueue<NioByteChannel>()    ;
-    private final    Queue<NioByteChannel>          closingChannels   = new ConcurrentLinkedQueue<NioByteChannel>()    ;
-    private final    Map<String, NioByteChannel>    udpChannels       = new ConcurrentHashMap<String, NioByteChannel>();
-    private final    AtomicReference<ProcessThread> processThreadRef  = new AtomicReference<ProcessThread>()           ;
-    private final    NioByteBufferAllocator         allocator         = new NioByteBufferAllocator()                   ;
-    private final    AtomicBoolean                  wakeupCalled      = new AtomicBoolean(false)                       ;
-    private final    NioChannelIdleTimer            idleTimer                                                          ;
-    private final    NioConfig                      config                                                             ;
-    private final    Executor                       executor                                                           ;
-    private          IoProtocol                     protocol                                                           ;
-    private volatile Selector                       selector                                                           ;
-    private volatile boolean                        shutdown          = false                                          ;                                         
+	private static final Logger LOG                     = LoggerFactory.getLogger(NioProcessor.class)      ;
+	private static final long   FLUSH_SPIN_COUNT        = 256                                              ;
+	private static final long   SELECT_TIMEOUT          = 1000L                                            ;
+	private static final long   PREMATURE_SELECT_NANOS  = TimeUnit.MILLISECONDS.toNanos(SELECT_TIMEOUT) / 2;
+	private static final int    SELECTOR_SPIN_THRESHOLD = 512                                              ;
+	private static final long   BALANCE_INTERVAL        = 1000L                                            ;
+	private static final long   MIGRATION_GAP           = 1L << 20                                         ;
+	private static final int    HEAVY_HITTERS           = 8                                                ;
+	
+	
+	private final    Queue<NioByteChannel>          newChannels         = new ConcurrentLinkedQueue<NioByteChannel>()     ;
+    private final    Queue<NioByteChannel>          flushingChannels    = new ConcurrentLinkedQueue<NioByteChannel>()     ;
+    private final    Queue<NioByteChannel>          closingChannels     = new ConcurrentLinkedQueue<NioByteChannel>()     ;
+    private final    Queue<NioByteChannel>          interestChannels    = new ConcurrentLinkedQueue<NioByteChannel>()     ;
+    private final    Queue<NioByteChannel>          migratedChannels    = new ConcurrentLinkedQueue<NioByteChannel>()     ;
+    private final    Queue<NioPooledByteBuffer>     recycledBuffers     = new ConcurrentLinkedQueue<NioPooledByteBuffer>();
+    private final    AtomicReference<ProcessThread> processThreadRef    = new AtomicReference<ProcessThread>()            ;
+    private final    NioByteBufferAllocator         allocator           = new NioByteBufferAllocator()                    ;
+    private final    AtomicBoolean                  wakeupCalled        = new AtomicBoolean(false)                        ;
+    private final    AtomicBoolean                  flushRequested      = new AtomicBoolean(false)                        ;
+    private final    AtomicLong                     wakeupCount         = new AtomicLong()                                ;
+    private final    AtomicInteger                  localChannelCount   = new AtomicInteger()                             ;
+    private volatile long                           selectCount                                                           ;
+    private volatile long                           readCount                                                             ;
+    private volatile long                           readByteCount                                                         ;
+    private volatile long                           writeCount                                                            ;
+    private volatile long                           loopTimeInNanos                                                       ;
+    private volatile long                           maxLoopTimeInNanos                                                    ;
+    private volatile long                           recentByteCount                                                       ;
+    private volatile long                           migrationCount                                                        ;
+    private volatile long                           prematureSelectCount                                                  ;
+    private volatile long                           selectorRebuildCount                                                  ;
+    private          int                            spinCount                                                             ;
+    private          boolean                        moreToFlush                                                           ;
+    private          int                            idlePolls                                                             ;
+    private          long                           ioByteCount                                                           ;
+    private          long                           lastBalanceTime                                                       ;
+    private final    NioChannelIdleTimer            idleTimer                                                             ;
+    private final    AtomicInteger                  channelCount                                                          ;
+    private final    NioProcessorPool               pool                                                                  ;
+    private final    NioConfig                      config                                                                ;
+    private final    ByteBuffer[]                   gatheringBuffers                                                      ;
+    private final    CachedBufferAllocator          pooledAllocator                                                       ;
+    private final    CachedBufferAllocator          coalescingAllocator                                                   ;
+    private final    NioDirectByteBufferArena       arena                                                                 ;
+    private final    NioMetrics                     metrics                                                               ;
+    private final    Executor                       executor                                                              ;
+    private          IoProtocol                     protocol                                                              ;
+    private volatile Selector                       selector                                                              ;
+    private volatile boolean                        shutdown            = false                                           ;
+    private volatile List<String>                   heavyHitters        = Collections.emptyList()                         ;
     
     
 	// ~ ------------------------------------------------------------------------------------------------------------
     
     
     NioProcessor(NioConfig config, IoHandler handler, NioChannelEventDispatcher dispatcher, NioChannelIdleTimer idleTimer) {
-		this.config     = config;
-		this.handler    = handler;
-		this.dispatcher = dispatcher;
-		this.idleTimer  = idleTimer;
-		this.executor   = Executors.newCachedThreadPool(new NamedThreadFactory("craft-atom-nio-processor"));
+    	this(config, handler, dispatcher, idleTimer, new AtomicInteger(), null);
+    }
+    
+    NioProcessor(NioConfig config, IoHandler handler, NioChannelEventDispatcher dispatcher, NioChannelIdleTimer idleTimer, AtomicInteger channelCount, NioProcessorPool pool) {
+		this.config              = config;
+		this.channelCount        = channelCount;
+		this.pool                = pool;
+		this.handler             = handler;
+		this.dispatcher          = dispatcher;
+		this.idleTimer           = idleTimer;
+		this.executor            = Executors.newCachedThreadPool(new NamedThreadFactory(config.isBusyPoll() ? "craft-atom-nio-busy-poll-processor" : "craft-atom-nio-processor"));
+		this.gatheringBuffers    = (config.isGatheringWrite() ? new ByteBuffer[config.getGatheringWriteSize()] : null);
+		this.pooledAllocator     = (handler instanceof NioByteBufferIoHandler ? new CachedBufferAllocator() : null);
+		this.arena               = (config.isDirectBuffer() ? new NioDirectByteBufferArena(config.getDirectMemoryBudget()) : null);
+		this.coalescingAllocator = (config.isCoalescingWrite() ? new CachedBufferAllocator() : null);
+		this.metrics             = (config.isMetrics() ? new NioMetrics() : null);
 		
 		try {
 			selector = Selector.open();
@@ -99,11 +150,39 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			return;
 		}
 		
+		channelCount.incrementAndGet();
+		localChannelCount.incrementAndGet();
 		newChannels.add(channel);
 		startup();
         wakeup();
 	}
 	
+	/**
+	 * Adopts a channel migrated from other processor, it is registered to this processor without firing channel opened event.
+	 * 
+	 * @param channel
+	 */
+	void adopt(NioByteChannel channel) {
+		localChannelCount.incrementAndGet();
+		migratedChannels.add(channel);
+		startup();
+		wakeup();
+	}
+	
+	/**
+	 * @return count of channels added to or migrated to this processor and not yet closed or migrated away.
+	 */
+	public int channelCount() {
+		return localChannelCount.get();
+	}
+	
+	/**
+	 * @return exponentially decayed count of bytes read and written by this processor, it is updated about every second.
+	 */
+	public long recentByteCount() {
+		return recentByteCount;
+	}
+	
 	private void startup() {
 		ProcessThread pt = processThreadRef.get();
 
@@ -116,9 +195,50 @@ public class NioProcessor extends NioReactor implements IoProcessor {
         }
     }
 	
+	/**
+	 * @return <code>true</code> if current thread is the process thread of this processor.
+	 */
+	boolean inProcessThread() {
+		ProcessThread pt = processThreadRef.get();
+		return pt != null && pt.thread == Thread.currentThread();
+	}
+	
+	/**
+	 * Update read interest of the channel with its paused and read suspended state, so the channel is not selected for read 
+	 * and the peer is throttled by TCP flow control. It is applied in process thread and never blocks the caller.
+	 * 
+	 * @param channel
+	 */
+	void updateReadInterest(NioByteChannel channel) {
+		// unconnected udp channels of different peers share one datagram channel, read interest is not per channel.
+		if (protocol == IoProtocol.UDP && !((NioUdpByteChannel) channel).isConnected()) {
+			return;
+		}
+		
+		if (inProcessThread()) {
+			setInterestedInRead(channel, channel.isReadInterested());
+			return;
+		}
+		
+		interestChannels.offer(channel);
+		wakeup();
+	}
+	
 	private void wakeup() {
-		wakeupCalled.getAndSet(true);
-		selector.wakeup();
+		// Only the first caller after the process thread parks in select wakes up the selector, 
+		// the others skip the wakeup system call because the process thread will handle their requests before next select.
+		if (wakeupCalled.compareAndSet(false, true)) {
+			wakeupCount.incrementAndGet();
+			if (config.isBusyPoll()) {
+				// busy poll processor never blocks in select, it may park in backoff.
+				ProcessThread pt = processThreadRef.get();
+				if (pt != null && pt.thread != null) {
+					LockSupport.unpark(pt.thread);
+				}
+			} else {
+				selector.wakeup();
+			}
+		}
 	}
 	
 	/** 
@@ -135,6 +255,8 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		newChannels.clear();
 		closingChannels.addAll(flushingChannels);
 		flushingChannels.clear();
+		closingChannels.addAll(migratedChannels);
+		migratedChannels.clear();
 		close();
 		
 		// close processor selector
@@ -144,6 +266,13 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	
 	private void close() throws IOException {
 		for (NioByteChannel channel = closingChannels.poll(); channel != null; channel = closingChannels.poll()) {
+			// the channel was migrated after it is scheduled to close here, so forward it to its processor.
+			NioProcessor owner = channel.getProcessor();
+			if (owner != null && owner != this && !owner.shutdown && !shutdown) {
+				owner.remove(channel);
+				continue;
+			}
+			
 			idleTimer.remove(channel);
 			if (channel.isClosed()) {
 				LOG.debug("[CRAFT-ATOM-NIO] Skip close because it is already closed, |channel={}|", channel);
@@ -155,6 +284,8 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			
 			close(channel);
 			channel.setClosed();
+			channelCount.decrementAndGet();
+			localChannelCount.decrementAndGet();
 			
 			// fire channel closed event
 			fireChannelClosed(channel);
@@ -165,11 +296,6 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	private void close(NioByteChannel channel) throws IOException {
 		try {
 			channel.close0();
-			
-			if (protocol == IoProtocol.UDP) {
-				String key = udpChannelKey(channel.getLocalAddress(), channel.getRemoteAddress());
-				udpChannels.remove(key);
-			}
 		} catch (Exception e) {
 			LOG.warn("[CRAFT-ATOM-NIO] Catch close exception and fire it, |channel={}|", channel, e);
 			fireChannelThrown(channel, e);
@@ -177,79 +303,140 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	}
 	
 	private int select() throws IOException {
-		long t0 = System.currentTimeMillis();
+		// Arm the wakeup before checking pending requests, a request added after the check is sure to see the armed flag and wakeup the selector.
+		wakeupCalled.set(false);
+		if (config.isBusyPoll()) {
+			int selected = busySelect();
+			wakeupCalled.set(true);
+			return selected;
+		}
+		if (hasPendingRequests()) {
+			int selected = selector.selectNow();
+			wakeupCalled.set(true);
+			return selected;
+		}
+		
+		long t0 = System.nanoTime();
 		int selected = selector.select(SELECT_TIMEOUT);
-		long t1 = System.currentTimeMillis();
-		long delta = (t1 - t0);
-		
-		if ((selected == 0) && !wakeupCalled.get() && (delta < 100)) {
-            // the select() may have been interrupted because we have had an closed channel.
-            if (isBrokenConnection()) {
-                LOG.debug("[CRAFT-ATOM-NIO] Broken connection wakeup");
-            } else {
-                LOG.debug("[CRAFT-ATOM-NIO] Create a new selector, |selected={}, delta={}|", selected, delta);
-                
-                // it is a workaround method for jdk bug, see http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6403933
-                registerNewSelector();
-            }
-
-            // Set back the flag to false and continue the loop
-            wakeupCalled.getAndSet(false);
-        }
+		long elapsed = System.nanoTime() - t0;
 		
+		if (selected > 0 || wakeupCalled.get() || elapsed >= PREMATURE_SELECT_NANOS) {
+			spinCount = 0;
+		} else if (Thread.interrupted()) {
+			// select returns at once while the thread is interrupted, clear the flag so that it is not taken as a spin.
+			LOG.debug("[CRAFT-ATOM-NIO] Selector wakeup by thread interruption");
+		} else {
+			// premature return without any selected key, it is a spin of the selector if it happens repeatedly.
+			prematureSelectCount++;
+			if (++spinCount >= SELECTOR_SPIN_THRESHOLD) {
+				LOG.warn("[CRAFT-ATOM-NIO] Selector spins, rebuild it |spinCount={}, elapsed={}ns|", spinCount, elapsed);
+				
+				// it is a workaround method for jdk bug, see http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6403933
+				rebuildSelector();
+				spinCount = 0;
+			}
+		}
+		
+		// Process thread is awake, disarm the wakeup until next select.
+		wakeupCalled.set(true);
 		return selected;
 	}
 	
-	private void registerNewSelector() throws IOException {
-        synchronized (this) {
-            Set<SelectionKey> keys = selector.keys();
-
-            // Open a new selector
-            Selector newSelector = Selector.open();
-
-            // Loop on all the registered keys, and register them on the new selector
-            for (SelectionKey key : keys) {
-                SelectableChannel ch = key.channel();
-
-                // Don't forget to attache the channel, and back !
-                NioByteChannel channel = (NioByteChannel) key.attachment();
-                ch.register(newSelector, key.interestOps(), channel);
-            }
-
-            // Now we can close the old selector and switch it
-            selector.close();
-            selector = newSelector;
-        }
-    }
+	/**
+	 * Polls the selector with <code>selectNow()</code> until I/O is ready or any request is pending, 
+	 * it spins first, then yields and then parks with the backoff of configuration. 
+	 * It returns after each park, so that the process loop still runs periodically while there is no I/O.
+	 */
+	private int busySelect() throws IOException {
+		final int spins  = config.getBusyPollSpins();
+		final int yields = spins + config.getBusyPollYields();
+		for (;;) {
+			int selected = selector.selectNow();
+			if (selected > 0 || hasPendingRequests()) {
+				idlePolls = 0;
+				return selected;
+			}
+			
+			// idle polls are counted across calls, so the processor keeps parking until I/O is ready again.
+			if (idlePolls < spins) {
+				idlePolls++;
+			} else if (idlePolls < yields) {
+				idlePolls++;
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(config.getBusyPollParkNanos());
+				return 0;
+			}
+		}
+	}
+	
+	private boolean hasPendingRequests() {
+		return flushRequested.getAndSet(false) || moreToFlush || !newChannels.isEmpty() || !migratedChannels.isEmpty() || !interestChannels.isEmpty() || !closingChannels.isEmpty() || shutdown;
+	}
 	
-	private boolean isBrokenConnection() throws IOException {
-		boolean broken = false;
-		
-		synchronized (selector) {
-			Set<SelectionKey> keys = selector.keys();
-			for (SelectionKey key : keys) {
-				SelectableChannel channel = key.channel();
-				if (!((SocketChannel) channel).isConnected()) {
-					// The channel is not connected anymore. Cancel the associated key.
-					key.cancel();
-					broken = true;
+	/**
+	 * Registers all valid keys on a new selector and closes the old one, keys of closed channels are dropped.
+	 */
+	private void rebuildSelector() throws IOException {
+		Selector oldSelector = selector;
+		Selector newSelector = Selector.open();
+		for (SelectionKey key : oldSelector.keys()) {
+			if (!key.isValid() || !key.channel().isOpen()) {
+				continue;
+			}
+			
+			NioByteChannel channel = (NioByteChannel) key.attachment();
+			try {
+				SelectionKey newKey = key.channel().register(newSelector, key.interestOps(), channel);
+				if (channel.getSelectionKey() == key) {
+					channel.setSelectionKey(newKey);
 				}
+			} catch (CancelledKeyException e) {
+				LOG.debug("[CRAFT-ATOM-NIO] Skip cancelled key when rebuild selector |channel={}|", channel);
 			}
 		}
 		
-		return broken;
+		selector = newSelector;
+		oldSelector.close();
+		selectorRebuildCount++;
 	}
 	
 	private void register() throws ClosedChannelException {
 		for (NioByteChannel channel = newChannels.poll(); channel != null; channel = newChannels.poll()) {
 			SelectableChannel sc = channel.innerChannel();
-			SelectionKey key = sc.register(selector, SelectionKey.OP_READ, channel);
+			SelectionKey key = sc.register(selector, (channel.isReadInterested() ? SelectionKey.OP_READ : 0), channel);
 			channel.setSelectionKey(key);
 			idleTimer.add(channel);
 			
 			// fire channel opened event
 			fireChannelOpened(channel);
 		}
+		
+		for (NioByteChannel channel = migratedChannels.poll(); channel != null; channel = migratedChannels.poll()) {
+			if (channel.isClosing() || channel.isClosed()) {
+				continue;
+			}
+			
+			SelectableChannel sc = channel.innerChannel();
+			SelectionKey key = sc.register(selector, (channel.isReadInterested() ? SelectionKey.OP_READ : 0), channel);
+			channel.setSelectionKey(key);
+			if (!channel.getWriteBufferQueue().isEmpty()) {
+				scheduleFlush(channel);
+			}
+			LOG.debug("[CRAFT-ATOM-NIO] Adopt migrated |channel={}|", channel);
+		}
+	}
+	
+	private void interest() {
+		for (NioByteChannel channel = interestChannels.poll(); channel != null; channel = interestChannels.poll()) {
+			if (channel.getProcessor() != this) {
+				channel.getProcessor().updateReadInterest(channel);
+				continue;
+			}
+			
+			// the latest state wins, so the order of requests does not matter.
+			setInterestedInRead(channel, channel.isReadInterested());
+		}
 	}
 	
 	private void process() {
@@ -270,29 +457,85 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		channel.setLastIoTime(System.currentTimeMillis());
 		
 		// Process reads
-		if (channel.isReadable()) {
+		if (channel.isReadReady()) {
 			LOG.debug("[CRAFT-ATOM-NIO] Read event process on |channel={}|", channel);
 			read(channel);
 		}
 
 		// Process writes
-		if (channel.isWritable()) {
+		if (channel.isWriteReady()) {
 			LOG.debug("[CRAFT-ATOM-NIO] Write event process on |channel={}|", channel);
 			scheduleFlush(channel);
+			
+			// peer channels share the write interest of the bound datagram socket.
+			if (protocol == IoProtocol.UDP) {
+				for (NioUdpByteChannel peer : ((NioUdpByteChannel) channel).peers()) {
+					if (!peer.isConnected() && !peer.getWriteBufferQueue().isEmpty()) {
+						scheduleFlush(peer);
+					}
+				}
+			}
 		}
 	}
 	
+	/**
+	 * Read the channel until the socket is drained or the read budget of the channel for this select cycle is used up, 
+	 * the budget keeps a hot channel from starving others in the same processor.
+	 * A datagram socket receives one datagram each read, so a wakeup receives a batch of at most max reads per select datagrams,
+	 * and the buffer is always the max read buffer size because a datagram is truncated if it does not fit.
+	 */
 	private void read(NioByteChannel channel) {
-		int bufferSize = channel.getPredictor().next();
-		ByteBuffer buf = allocator.allocate(bufferSize);
+		final int  maxReads = config.getMaxReadsPerSelect();
+		final long maxBytes = config.getMaxReadBytesPerSelect();
+		int  reads = 0;
+		long bytes = 0;
+		
+		for (;;) {
+			int bufferSize = (protocol == IoProtocol.UDP ? config.getMaxReadBufferSize() : channel.getPredictor().next());
+			int readBytes = read(channel, bufferSize);
+			if (readBytes <= 0) {
+				break;
+			}
+			
+			reads++;
+			bytes += readBytes;
+			
+			// a buffer not filled up means socket is drained, UDP reads one datagram each time.
+			if (protocol == IoProtocol.TCP && readBytes < bufferSize) {
+				break;
+			}
+			if (reads >= maxReads || bytes >= maxBytes || !channel.isOpen() || !channel.isReadInterested()) {
+				break;
+			}
+		}
+		
+		readCount += reads;
+		readByteCount += bytes;
+		ioByteCount += bytes;
+		channel.ioByteCount += bytes;
+		if (metrics != null) {
+			metrics.read(bytes);
+		}
+	}
+	
+	private int read(NioByteChannel channel, int bufferSize) {
+		NioPooledByteBuffer pbuf = (pooledAllocator == null ? null : new NioPooledByteBuffer(pooledAllocator.allocate(bufferSize, config.isDirectBuffer()), this));
+		ByteBuffer dbuf = (pbuf == null && arena != null ? arena.allocate(bufferSize) : null);
+		ByteBuffer buf = (pbuf != null ? pbuf.buf() : (dbuf != null ? dbuf : allocator.allocate(bufferSize)));
 		LOG.debug("[CRAFT-ATOM-NIO] Predict buffer |size={}, buffer={}|", bufferSize, buf);
 		
 		int readBytes = 0;
 		try {
+			NioByteChannel target = channel;
 			if (protocol.equals(IoProtocol.TCP)) {
 				readBytes = readTcp(channel, buf);
 			} else if (protocol.equals(IoProtocol.UDP)) {
-				readBytes = readUdp(channel, buf);
+				target = readUdp((NioUdpByteChannel) channel, buf);
+				readBytes = (target == null ? 0 : buf.position());
+			}
+			
+			if (readBytes > 0) {
+				fireChannelRead(target, buf, pbuf, readBytes);
 			}
 		} catch (Exception e) {
 			LOG.debug("[CRAFT-ATOM-NIO] Catch read exception and fire it, |channel={}|", channel, e);
@@ -304,9 +547,17 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			if (e instanceof IOException) {
 				scheduleClose(channel);
 			}
+			readBytes = -1;
 		} finally {
-			if (readBytes > 0) { buf.clear(); }
+			if (pbuf != null) {
+				pbuf.release();
+			} else if (dbuf != null) {
+				arena.release(dbuf);
+			} else if (readBytes > 0) {
+				buf.clear();
+			}
 		}
+		return readBytes;
 	}
 	
 	private int readTcp(NioByteChannel channel, ByteBuffer buf) throws IOException {
@@ -321,7 +572,6 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 
 		if (readBytes > 0) {
 			channel.getPredictor().previous(readBytes);
-			fireChannelRead(channel, buf, readBytes);
 			LOG.debug("[CRAFT-ATOM-NIO] Actual |readBytes={}|", readBytes);
 		}
 
@@ -341,28 +591,93 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		closingChannels.add(channel);
 	}
 	
-	private int readUdp(NioByteChannel channel, ByteBuffer buf) throws IOException {
+	/**
+	 * Receives a datagram from the channel.
+	 * 
+	 * @return the peer channel of the datagram, or <code>null</code> if no datagram was immediately available.
+	 */
+	private NioUdpByteChannel readUdp(NioUdpByteChannel channel, ByteBuffer buf) throws IOException {
 		SocketAddress remoteAddress = channel.readUdp(buf);
 		if (remoteAddress == null) {
-			// no datagram was immediately available
-			return 0;
+			return null;
 		}
 		
-		int readBytes = buf.position();
-		String key = udpChannelKey(channel.getLocalAddress(), remoteAddress);
-		if (!udpChannels.containsKey(key)) {
-			// handle first datagram with current channel
-			channel.setRemoteAddress(remoteAddress);
-			udpChannels.put(key, channel);
+		// a connected peer channel reads datagrams of its peer directly.
+		if (channel.isConnected()) {
+			return channel;
 		}
-		channel.setLastIoTime(System.currentTimeMillis());
-		fireChannelRead(channel, buf, buf.position());
 		
-		return readBytes;
+		// peer channels are keyed by the received address itself, so the lookup allocates nothing.
+		NioUdpByteChannel peer = channel.peer(remoteAddress);
+		if (peer == null) {
+			// a new peer is an accepted channel, the datagram of it is dropped when channel size overflow.
+			if (isChannelSizeOverflow()) { return null; }
+			
+			peer = channel.newPeer(remoteAddress);
+			channelCount.incrementAndGet();
+			localChannelCount.incrementAndGet();
+			idleTimer.add(peer);
+			fireChannelOpened(peer);
+		}
+		peer.setLastIoTime(System.currentTimeMillis());
+		
+		if (peer.received()) {
+			connect(peer);
+		}
+		return peer;
 	}
 	
-	private String udpChannelKey(SocketAddress localAddress, SocketAddress remoteAddress) {
-		return localAddress.toString() + "-" + remoteAddress.toString();
+	private boolean isChannelSizeOverflow() {
+		if (!(config instanceof NioAcceptorConfig)) { return false; }
+		
+		int currentChannelSize = channelCount.get();
+		int allowChannelSize = ((NioAcceptorConfig) config).getChannelSize();
+		if (currentChannelSize >= allowChannelSize) {
+			LOG.warn("[CRAFT-ATOM-NIO] Channel size overflow, |allowChannelSize={}, currentChannelSize={}|", allowChannelSize, currentChannelSize);
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Connects a hot peer channel with its own datagram socket, and registers it to the processor selected by the pool,
+	 * so datagrams of hot peers are received by different processors.
+	 */
+	private void connect(NioUdpByteChannel peer) {
+		if (!peer.connect()) {
+			return;
+		}
+		
+		NioProcessor target = (pool == null ? this : pool.pick(peer));
+		target.setProtocol(IoProtocol.UDP);
+		if (target == this) {
+			try {
+				SelectionKey key = peer.innerChannel().register(selector, SelectionKey.OP_READ, peer);
+				peer.setSelectionKey(key);
+			} catch (ClosedChannelException e) {
+				scheduleClose(peer);
+			}
+		} else {
+			localChannelCount.decrementAndGet();
+			peer.setProcessor(target);
+			target.adopt(peer);
+		}
+		LOG.debug("[CRAFT-ATOM-NIO] Connect hot peer |channel={}, processor={}|", peer, target);
+	}
+	
+	/**
+	 * Recycle a released pooled buffer, it may be called by any thread and the buffer is freed later in the processor thread.
+	 * 
+	 * @param buf
+	 */
+	void recycle(NioPooledByteBuffer buf) {
+		recycledBuffers.offer(buf);
+	}
+	
+	private void recycle() {
+		for (NioPooledByteBuffer buf = recycledBuffers.poll(); buf != null; buf = recycledBuffers.poll()) {
+			buf.free();
+		}
 	}
 	
 	/**
@@ -379,20 +694,28 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			return;
 		}
 		
-		scheduleFlush(channel);
-		wakeup();
+		// If the channel is already scheduled, the processor has been notified by the one who scheduled it.
+		if (scheduleFlush(channel)) {
+			flushRequested.set(true);
+			wakeup();
+		}
 	}
 	
-	private void scheduleFlush(NioByteChannel channel) {
+	private boolean scheduleFlush(NioByteChannel channel) {
 		// Add channel to flushing queue if it's not already in the queue, soon after it will be flushed in the same select loop.
 		if (channel.setScheduleFlush(true)) {
 			flushingChannels.add(channel);
+			return true;
 		}
+		return false;
 	}
 	
 	private void flush() {
 		int c = 0;
-		while (!flushingChannels.isEmpty() && c < FLUSH_SPIN_COUNT) {
+		moreToFlush = false;
+		
+		// each channel is flushed once at most, a channel rescheduled by its own flush is left to next loop.
+		for (int n = flushingChannels.size(); n > 0 && c < FLUSH_SPIN_COUNT; n--) {
 			NioByteChannel channel = flushingChannels.poll();
             if (channel == null) {
                 // Just in case ... It should not happen.
@@ -403,6 +726,13 @@ public class NioProcessor extends NioReactor implements IoProcessor {
             channel.unsetScheduleFlush();
             
             try {
+            	if (channel.getProcessor() != this) {
+            		// the channel is migrated to other processor, it flushes the channel from now on.
+            		channel.getProcessor().flush(channel);
+            		continue;
+            	}
+            	
+
             	if (channel.isClosed() || channel.isClosing()) {
             		LOG.debug("[CRAFT-ATOM-NIO] Channel is closing or closed, |Channel={}, flushing-channel-size={}|", channel, flushingChannels.size());
             		continue;
@@ -423,6 +753,24 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 				}
 			}
 		}
+		
+		// channels still queued are flushed by next loop without waiting select, except those waiting for writable.
+		if (!flushingChannels.isEmpty()) {
+			moreToFlush = hasFlushableChannel();
+		}
+	}
+	
+	/**
+	 * @return true if any flushing channel is not waiting for writable, a channel waiting for writable is flushed when it is selected.
+	 */
+	private boolean hasFlushableChannel() {
+		for (NioByteChannel channel : flushingChannels) {
+			SelectionKey key = channel.getSelectionKey();
+			if (key == null || !key.isValid() || (key.interestOps() & SelectionKey.OP_WRITE) == 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	private void flush0(NioByteChannel channel) throws IOException {
@@ -433,8 +781,21 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		// First set not be interested to write event
 		setInterestedInWrite(channel, false);
 		
+		// Corked channel holds the written data until it is uncorked.
+		if (channel.isCorked()) {
+			LOG.debug("[CRAFT-ATOM-NIO] Channel is corked, skip flush |channel={}|", channel);
+			return;
+		}
+		
+		// coalesce small buffers at the head of write queue first, the rest is flushed by mode.
+		if (coalescingAllocator != null && protocol == IoProtocol.TCP && !coalescingFlush0(channel, writeQueue)) {
+			return;
+		}
+		
 		// flush by mode
-		if (config.isReadWritefair()) {
+		if (gatheringBuffers != null && protocol == IoProtocol.TCP) {
+			gatheringFlush0(channel, writeQueue);
+		} else if (config.isReadWritefair()) {
 			fairFlush0(channel, writeQueue);
 		} else {
 			oneOffFlush0(channel, writeQueue);
@@ -465,7 +826,7 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			writeQueue.remove();
 			
 			// fire channel written event
-			fireChannelWritten(channel, buf);
+			written(channel, buf);
 		}
 	}
 	
@@ -499,7 +860,7 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 				writeQueue.remove();
 				
 				// fire channel written event
-				fireChannelWritten(channel, buf);
+				written(channel, buf);
 				
 				// set buf=null and the next loop if no byte buffer to write then break the loop.
 				buf = null;
@@ -535,7 +896,204 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		} while (writtenBytes < maxWriteBytes);
 	}
 	
+	/**
+	 * Gathering flush collects up to <code>gatheringBuffers.length</code> queued buffers and writes them with one system call,
+	 * total bytes of every flush is still bounded by max write buffer size of the channel.
+	 */
+	private void gatheringFlush0(NioByteChannel channel, Queue<ByteBuffer> writeQueue) throws IOException {
+		final ByteBuffer[] bufs = gatheringBuffers;
+		final int maxWriteBytes = channel.getMaxWriteBufferSize();
+		int writtenBytes = 0;
+		
+		do {
+			// gather buffers from the head of write queue, the last one may be limited to fit the quota
+			int qota = maxWriteBytes - writtenBytes;
+			int gatheredBytes = 0;
+			int n = 0;
+			int oldLimit = -1;
+			for (Iterator<ByteBuffer> it = writeQueue.iterator(); it.hasNext() && n < bufs.length && gatheredBytes < qota;) {
+				ByteBuffer buf = it.next();
+				if (buf.position() == 0) {
+					// fire channel flush event only once for each buffer
+					fireChannelFlush(channel, buf);
+				}
+				
+				int remaining = buf.remaining();
+				if (gatheredBytes + remaining > qota) {
+					oldLimit = buf.limit();
+					buf.limit(buf.position() + (qota - gatheredBytes));
+					remaining = buf.remaining();
+				}
+				bufs[n++] = buf;
+				gatheredBytes += remaining;
+			}
+			
+			if (n == 0) {
+				return;
+			}
+			
+			int localWrittenBytes;
+			ByteBuffer staging = stage(bufs, n, gatheredBytes);
+			try {
+				if (staging != null) {
+					// gathered buffers are copied to one direct staging buffer, so it is also a single write.
+					localWrittenBytes = (int) advance(bufs, n, channel.writeTcp(staging));
+				} else {
+					localWrittenBytes = (int) channel.writeTcp(bufs, 0, n);
+				}
+			} finally {
+				if (staging != null) {
+					arena.release(staging);
+				}
+				if (oldLimit >= 0) {
+					bufs[n - 1].limit(oldLimit);
+				}
+			}
+			writeCount++;
+			writtenBytes += localWrittenBytes;
+			LOG.debug("[CRAFT-ATOM-NIO] Gathering flush |channel={}, buffers={}, bytes={}, qota={}|", channel, n, localWrittenBytes, qota);
+			
+			// remove all flushed buffers from write queue, a write may end in the middle of any buffer.
+			boolean partial = false;
+			for (int i = 0; i < n; i++) {
+				ByteBuffer buf = bufs[i];
+				bufs[i] = null;
+				if (partial) {
+					continue;
+				}
+				
+				if (buf.hasRemaining()) {
+					partial = true;
+				} else {
+					writeQueue.remove();
+					
+					// fire channel written event
+					written(channel, buf);
+				}
+			}
+			
+			// Kernel buffer is full or wrote too much, so we re-interest in writing and later flush other bytes.
+			if (partial) {
+				LOG.debug("[CRAFT-ATOM-NIO] Gathering flush partially, we re-interest in writing and later flush it, |channel={}|", channel);
+				
+				setInterestedInWrite(channel, true);
+				scheduleFlush(channel);
+				return;
+			}
+		} while (writtenBytes < maxWriteBytes);
+	}
+	
+	/**
+	 * Coalescing flush packs consecutive small buffers at the head of write queue into one pooled staging buffer up to the threshold,
+	 * and writes it with one system call. A staging buffer partially written is kept by the channel and written first in next flush.
+	 * 
+	 * @return <code>true</code> if no staging buffer is pending, the rest of write queue could be flushed by mode.
+	 */
+	private boolean coalescingFlush0(NioByteChannel channel, Queue<ByteBuffer> writeQueue) throws IOException {
+		final int maxWriteBytes = channel.getMaxWriteBufferSize();
+		int writtenBytes = 0;
+		
+		do {
+			AdaptiveByteBuffer staging = channel.getCoalescingBuffer();
+			if (staging == null) {
+				staging = coalesce(channel, writeQueue);
+				if (staging == null) {
+					return true;
+				}
+				channel.setCoalescingBuffer(staging);
+			}
+			
+			ByteBuffer buf = staging.buf();
+			int localWrittenBytes = channel.writeTcp(buf);
+			writeCount++;
+			writtenBytes += localWrittenBytes;
+			LOG.debug("[CRAFT-ATOM-NIO] Coalescing flush |channel={}, buffers={}, bytes={}, remaining={}|", channel, channel.getCoalescedBuffers().size(), localWrittenBytes, buf.remaining());
+			
+			// Kernel buffer is full, we re-interest in writing and later flush the rest of staging buffer.
+			if (buf.hasRemaining()) {
+				setInterestedInWrite(channel, true);
+				scheduleFlush(channel);
+				return false;
+			}
+			
+			// The staging buffer is all flushed, recycle it and fire channel written event for each coalesced buffer.
+			channel.setCoalescingBuffer(null);
+			staging.free();
+			List<ByteBuffer> coalescedBuffers = channel.getCoalescedBuffers();
+			for (ByteBuffer b : coalescedBuffers) {
+				written(channel, b);
+			}
+			coalescedBuffers.clear();
+		} while (writtenBytes < maxWriteBytes);
+		
+		// Wrote too much, so we re-interest in writing and later flush other bytes.
+		if (!writeQueue.isEmpty()) {
+			setInterestedInWrite(channel, true);
+			scheduleFlush(channel);
+		}
+		return false;
+	}
+	
+	/**
+	 * Remove consecutive small buffers from the head of write queue and copy them to a staging buffer.
+	 * 
+	 * @return staging buffer ready to write, or <code>null</code> if less than two buffers could be coalesced.
+	 */
+	private AdaptiveByteBuffer coalesce(NioByteChannel channel, Queue<ByteBuffer> writeQueue) {
+		final int threshold = config.getCoalescingWriteThreshold();
+		int n = 0;
+		int bytes = 0;
+		for (Iterator<ByteBuffer> it = writeQueue.iterator(); it.hasNext();) {
+			int remaining = it.next().remaining();
+			if (remaining >= threshold || bytes + remaining > threshold) {
+				break;
+			}
+			n++;
+			bytes += remaining;
+		}
+		
+		if (n < 2) {
+			return null;
+		}
+		
+		AdaptiveByteBuffer staging = coalescingAllocator.allocate(bytes, config.isDirectBuffer());
+		ByteBuffer out = staging.buf();
+		List<ByteBuffer> coalescedBuffers = channel.getCoalescedBuffers();
+		for (int i = 0; i < n; i++) {
+			ByteBuffer buf = writeQueue.remove();
+			if (buf.position() == 0) {
+				// fire channel flush event only once for each buffer
+				fireChannelFlush(channel, buf);
+			}
+			out.put(buf);
+			coalescedBuffers.add(buf);
+		}
+		out.flip();
+		return staging;
+	}
+	
+	/**
+	 * The buffer is all flushed and removed from write queue, release its bytes from pending write bytes of the channel.
+	 */
+	private void written(NioByteChannel channel, ByteBuffer buf) {
+		ioByteCount += buf.capacity();
+		channel.ioByteCount += buf.capacity();
+		channel.updatePendingWriteBytes(-buf.capacity());
+		if (metrics != null) {
+			metrics.written(buf.capacity());
+		}
+		fireChannelWritten(channel, buf);
+	}
+	
+	private void setInterestedInRead(NioByteChannel channel, boolean isInterested) {
+		setInterested(channel, SelectionKey.OP_READ, isInterested);
+	}
+	
 	private void setInterestedInWrite(NioByteChannel channel, boolean isInterested) {
+		setInterested(channel, SelectionKey.OP_WRITE, isInterested);
+	}
+	
+	private void setInterested(NioByteChannel channel, int op, boolean isInterested) {
 		SelectionKey key = channel.getSelectionKey();
 
 		if (key == null || !key.isValid()) {
@@ -545,9 +1103,9 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		int oldInterestOps = key.interestOps();
 		int newInterestOps = oldInterestOps;
 		if (isInterested) {
-			newInterestOps |= SelectionKey.OP_WRITE;
+			newInterestOps |= op;
 		} else {
-			newInterestOps &= ~SelectionKey.OP_WRITE;
+			newInterestOps &= ~op;
 		}
 
 		if (oldInterestOps != newInterestOps) {
@@ -566,6 +1124,7 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 			} else if (protocol.equals(IoProtocol.UDP)) {
 				writtenBytes = writeUdp(channel, buf, length);
 			}
+			writeCount++;
 		}
 		
 		LOG.debug("[CRAFT-ATOM-NIO] Actual written byte size, |writtenBytes={}|", writtenBytes);
@@ -573,6 +1132,15 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	}
 	
 	private int writeTcp(NioByteChannel channel, ByteBuffer buf, int length) throws IOException {
+		ByteBuffer staging = stage(buf, length);
+		if (staging != null) {
+			try {
+				return advance(buf, channel.writeTcp(staging));
+			} finally {
+				arena.release(staging);
+			}
+		}
+		
 		if (buf.remaining() <= length) {
 			return channel.writeTcp(buf);
 		}
@@ -587,6 +1155,15 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	}
 	
 	private int writeUdp(NioByteChannel channel, ByteBuffer buf, int length) throws IOException {
+		ByteBuffer staging = stage(buf, length);
+		if (staging != null) {
+			try {
+				return advance(buf, channel.writeUdp(staging, channel.getRemoteAddress()));
+			} finally {
+				arena.release(staging);
+			}
+		}
+		
 		if (buf.remaining() <= length) {
 			return channel.writeUdp(buf, channel.getRemoteAddress());
 		}
@@ -601,6 +1178,61 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 
 	}
 	
+	/**
+	 * Copy <code>length</code> bytes of a heap buffer to a direct staging buffer of the arena,
+	 * so that socket write does not copy it through JDK temporary direct buffer.
+	 * 
+	 * @return staging buffer ready to write, or <code>null</code> if no need or no budget to stage.
+	 */
+	private ByteBuffer stage(ByteBuffer buf, int length) {
+		if (arena == null || buf.isDirect()) {
+			return null;
+		}
+		
+		ByteBuffer staging = arena.allocate(length);
+		if (staging == null) {
+			return null;
+		}
+		
+		ByteBuffer src = buf.duplicate();
+		src.limit(src.position() + length);
+		staging.put(src);
+		staging.flip();
+		return staging;
+	}
+	
+	private ByteBuffer stage(ByteBuffer[] bufs, int length, int bytes) {
+		if (arena == null) {
+			return null;
+		}
+		
+		ByteBuffer staging = arena.allocate(bytes);
+		if (staging == null) {
+			return null;
+		}
+		
+		for (int i = 0; i < length; i++) {
+			staging.put(bufs[i].duplicate());
+		}
+		staging.flip();
+		return staging;
+	}
+	
+	private int advance(ByteBuffer buf, int writtenBytes) {
+		buf.position(buf.position() + writtenBytes);
+		return writtenBytes;
+	}
+	
+	private long advance(ByteBuffer[] bufs, int length, long writtenBytes) {
+		long remaining = writtenBytes;
+		for (int i = 0; i < length && remaining > 0; i++) {
+			int n = (int) Math.min(remaining, bufs[i].remaining());
+			bufs[i].position(bufs[i].position() + n);
+			remaining -= n;
+		}
+		return writtenBytes;
+	}
+	
 	/**
 	 * Removes and closes the specified channel from the processor,
 	 * so that processor closes the channel and releases any other related resources.
@@ -626,9 +1258,144 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 		x.setNewChannelCount(newChannels.size());
 		x.setFlushingChannelCount(flushingChannels.size());
 		x.setClosingChannelCount(closingChannels.size());
+		x.setWakeupCount(wakeupCount.get());
+		x.setSelectCount(selectCount);
+		x.setReadCount(readCount);
+		x.setReadByteCount(readByteCount);
+		x.setWriteCount(writeCount);
+		x.setLoopTimeInNanos(loopTimeInNanos);
+		x.setMaxLoopTimeInNanos(maxLoopTimeInNanos);
+		x.setChannelCount(localChannelCount.get());
+		x.setRecentByteCount(recentByteCount);
+		x.setMigrationCount(migrationCount);
+		x.setPrematureSelectCount(prematureSelectCount);
+		x.setSelectorRebuildCount(selectorRebuildCount);
+		if (metrics != null) {
+			x.setMetrics(metrics.copy());
+			x.setHeavyHitters(heavyHitters);
+		}
+		if (arena != null) {
+			x.setDirectMemoryBudget(arena.budget());
+			x.setDirectMemoryAllocated(arena.allocated());
+			x.setDirectMemoryUsed(arena.used());
+			x.setDirectMemoryFallbackCount(arena.fallbackCount());
+		}
 		return x;
 	}
 	
+	/**
+	 * Updates the recent byte count of this processor about every second, the counts of processor and its channels are halved each time,
+	 * so that it reflects recent traffic. If channel migration is enabled and this processor is hotter than the coldest one of the pool
+	 * by more than the migration gap, the channel which narrows the gap most is migrated to the coldest processor, one channel each time.
+	 */
+	private void balance() {
+		long now = System.currentTimeMillis();
+		if (now - lastBalanceTime < BALANCE_INTERVAL) {
+			return;
+		}
+		
+		lastBalanceTime = now;
+		recentByteCount = ioByteCount;
+		ioByteCount >>= 1;
+		if (metrics != null) {
+			heavyHitters = heavyHitters();
+		}
+		if (!config.isChannelMigration() || pool == null || protocol != IoProtocol.TCP) {
+			if (metrics != null) {
+				decay();
+			}
+			return;
+		}
+		
+		NioProcessor target = pool.coldest();
+		long gap = recentByteCount - target.recentByteCount();
+		boolean imbalanced = (target != this && gap >= MIGRATION_GAP);
+		NioByteChannel candidate = null;
+		long distance = gap;
+		for (SelectionKey key : selector.keys()) {
+			NioByteChannel channel = (NioByteChannel) key.attachment();
+			long bytes = channel.ioByteCount;
+			channel.ioByteCount >>= 1;
+			
+			// moving the channel changes the gap to |gap - 2 * bytes|, it narrows the gap only if the channel is not hotter than the gap.
+			long d = Math.abs(gap - 2 * bytes);
+			if (imbalanced && key.isValid() && bytes > 0 && d < distance) {
+				candidate = channel;
+				distance = d;
+			}
+		}
+		
+		if (candidate != null) {
+			migrate(candidate, target);
+		}
+	}
+	
+	private void decay() {
+		for (SelectionKey key : selector.keys()) {
+			((NioByteChannel) key.attachment()).ioByteCount >>= 1;
+		}
+	}
+	
+	/**
+	 * @return descriptions of the channels with most recent bytes, hottest first.
+	 */
+	private List<String> heavyHitters() {
+		NioByteChannel[] top = new NioByteChannel[HEAVY_HITTERS];
+		int n = 0;
+		for (SelectionKey key : selector.keys()) {
+			NioByteChannel channel = (NioByteChannel) key.attachment();
+			if (!key.isValid() || channel.ioByteCount == 0) {
+				continue;
+			}
+			if (n == top.length && channel.ioByteCount <= top[n - 1].ioByteCount) {
+				continue;
+			}
+			
+			// insertion sort, the array is tiny.
+			int i = (n == top.length ? n - 1 : n++);
+			for (; i > 0 && top[i - 1].ioByteCount < channel.ioByteCount; i--) {
+				top[i] = top[i - 1];
+			}
+			top[i] = channel;
+		}
+		
+		List<String> list = new ArrayList<String>(n);
+		for (int i = 0; i < n; i++) {
+			list.add("id=" + top[i].getId() + ", remoteAddress=" + top[i].getRemoteAddress() + ", recentBytes=" + top[i].ioByteCount);
+		}
+		return list;
+	}
+	
+	private void migrate(NioByteChannel channel, NioProcessor target) {
+		SelectionKey key = channel.getSelectionKey();
+		if (key != null) {
+			key.cancel();
+		}
+		channel.setSelectionKey(null);
+		channel.setProcessor(target);
+		localChannelCount.decrementAndGet();
+		
+		// the migrated traffic is no longer counted by this processor.
+		ioByteCount = Math.max(0, ioByteCount - channel.ioByteCount);
+		recentByteCount = Math.max(0, recentByteCount - (channel.ioByteCount << 1));
+		migrationCount++;
+
+		// a processor may only receive migrated channels, it is never picked by the acceptor to set the protocol.
+		target.setProtocol(protocol);
+		target.adopt(channel);
+		LOG.debug("[CRAFT-ATOM-NIO] Migrate |channel={}, target={}|", channel, target);
+	}
+	
+	private void loopTime(long nanos) {
+		if (metrics != null) {
+			metrics.loop(nanos);
+		}
+		loopTimeInNanos += nanos;
+		if (nanos > maxLoopTimeInNanos) {
+			maxLoopTimeInNanos = nanos;
+		}
+	}
+	
 	public void setProtocol(IoProtocol protocol) {
 		this.protocol = protocol;
 	}
@@ -637,31 +1404,56 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 	// ~ -------------------------------------------------------------------------------------------------------------
     
     
+    private void dispatch(NioByteChannelEvent event) {
+		if (metrics != null) {
+			event.metrics(metrics);
+			metrics.dispatched();
+		}
+		dispatcher.dispatch(event);
+	}
+	
     private void fireChannelOpened(NioByteChannel channel) {
-    	dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_OPENED, channel, handler));
+    	dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_OPENED, channel, handler));
     }
 	
-	private void fireChannelRead(NioByteChannel channel, ByteBuffer buf, int length) {
+	private void fireChannelRead(NioByteChannel channel, ByteBuffer buf, NioPooledByteBuffer pbuf, int length) {
+		if (pbuf != null) {
+			// zero copy, hand over the pooled buffer to handler, the event holds a reference and releases it after dispatch.
+			buf.flip();
+			dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channel, handler, pbuf.retain()));
+			return;
+		}
+		
 		// fire channel received event, here we copy buffer bytes to a new byte array to avoid handler expose <code>ByteBuffer</code> to end user.
 		byte[] barr = new byte[length];
-		System.arraycopy(buf.array(), 0, barr, 0, length);
-		dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channel, handler, barr));
+		if (buf.hasArray()) {
+			System.arraycopy(buf.array(), buf.arrayOffset(), barr, 0, length);
+		} else {
+			ByteBuffer dup = buf.duplicate();
+			dup.flip();
+			dup.get(barr, 0, length);
+		}
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channel, handler, barr));
 	}
 	
 	private void fireChannelFlush(NioByteChannel channel, ByteBuffer buf) {
-		dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_FLUSH, channel, handler, buf.array()));
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_FLUSH, channel, handler, buf.array()));
 	}
 	
 	private void fireChannelWritten(NioByteChannel channel, ByteBuffer buf) {
-		dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_WRITTEN, channel, handler, buf.array()));
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_WRITTEN, channel, handler, buf.array()));
+	}
+	
+	void fireChannelWritabilityChanged(NioByteChannel channel) {
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_WRITABILITY_CHANGED, channel, handler));
 	}
 	
 	private void fireChannelThrown(NioByteChannel channel, Exception e) {
-		dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_THROWN, channel, handler, e));
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_THROWN, channel, handler, e));
 	}
 	
 	private void fireChannelClosed(NioByteChannel channel) {
-		dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_CLOSED, channel, handler));
+		dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_CLOSED, channel, handler));
 	}
 	
 	
@@ -669,10 +1461,16 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 
 	
 	private class ProcessThread implements Runnable {
+		
+		private volatile Thread thread;
+		
 		public void run() {
+			thread = Thread.currentThread();
 			while (!shutdown) {
 				try {
 					int selected = select();
+					long t0 = System.nanoTime();
+					selectCount++;
 					
 					// flush channels
 					flush();
@@ -680,10 +1478,22 @@ public class NioProcessor extends NioReactor implements IoProcessor {
 					// register new channels
 					register();
 					
+					// update read interest of suspended or resumed channels
+					interest();
+					
 					if (selected > 0) { process(); }
 					
+					// recycle released pooled buffers
+					recycle();
+					
 					// close channels
 					close();
+					
+					// balance load between processors
+					balance();
+					
+					// the time from processor wakeup to next select, it is the latency added to any pending I/O.
+					loopTime(System.nanoTime() - t0);
 				} catch (Exception e) {
 					LOG.error("[CRAFT-ATOM-NIO] Process exception", e);
 				}
@@ -2,6 +2,9 @@ package io.craft.atom.nio;
 
 import io.craft.atom.io.IoHandler;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import lombok.Getter;
 import lombok.ToString;
 
@@ -16,11 +19,12 @@ import lombok.ToString;
 public class NioProcessorPool {
 	
 	
-	@Getter private final NioProcessor[]            pool      ;
-	@Getter private final NioConfig                 config    ;
-	@Getter private final NioChannelEventDispatcher dispatcher;
-	@Getter private final IoHandler                 handler   ;
-	@Getter private final NioChannelIdleTimer       idleTimer ;
+	@Getter private final NioProcessor[]            pool                               ;
+	@Getter private final NioConfig                 config                             ;
+	@Getter private final NioChannelEventDispatcher dispatcher                         ;
+	@Getter private final IoHandler                 handler                            ;
+	@Getter private final NioChannelIdleTimer       idleTimer                          ;
+	        private final AtomicInteger             channelCount = new AtomicInteger() ;
 	
 	
 	// ~ ----------------------------------------------------------------------------------------------------------
@@ -54,7 +58,7 @@ public class NioProcessorPool {
 		}
 
 		for (int i = 0; i < pool.length; i++) {
-			pool[i] = new NioProcessor(config, handler, dispatcher, idleTimer);
+			pool[i] = new NioProcessor(config, handler, dispatcher, idleTimer, channelCount, this);
 		}
 	}
 	
@@ -65,16 +69,37 @@ public class NioProcessorPool {
 		for (int i = 0; i < pool.length; i++) {
 			pool[i].shutdown();
 		}
+		idleTimer.stop();
+	}
+	
+	/**
+	 * @return count of channels added to and not yet closed by the processors of this pool, it is O(1) to read.
+	 */
+	public int channelCount() {
+		return channelCount.get();
 	}
 	
 	/**
-	 * Pick a nio processor object.
+	 * Pick a nio processor object by the processor selection strategy of configuration.
 	 * 
 	 * @param channel
 	 * @return a nio processor.
 	 */
 	public NioProcessor pick(NioByteChannel channel) {
-		return pool[Math.abs((int) (channel.getId() % pool.length))];
+		return config.getProcessorSelectionStrategy().select(pool, channel);
+	}
+	
+	/**
+	 * @return the processor has the least recent read and written bytes.
+	 */
+	NioProcessor coldest() {
+		NioProcessor coldest = pool[0];
+		for (int i = 1; i < pool.length; i++) {
+			if (pool[i].recentByteCount() < coldest.recentByteCount()) {
+				coldest = pool[i];
+			}
+		}
+		return coldest;
 	}
 	
 }
@@ -2,10 +2,57 @@ package io.craft.atom.nio;
 
 import io.craft.atom.io.IoProcessorX;
 
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
 /**
  * @author mindwind
  * @version 1.0, Oct 15, 2014
  */
+@ToString(callSuper = true)
 public class NioProcessorX extends NioReactorX implements IoProcessorX {
 
+	
+	@Getter @Setter private long         wakeupCount              ;
+	@Getter @Setter private long         selectCount              ;
+	@Getter @Setter private long         readCount                ;
+	@Getter @Setter private long         readByteCount            ;
+	@Getter @Setter private long         writeCount               ;
+	@Getter @Setter private long         loopTimeInNanos          ;
+	@Getter @Setter private long         maxLoopTimeInNanos       ;
+	@Getter @Setter private long         directMemoryBudget       ;
+	@Getter @Setter private long         directMemoryAllocated    ;
+	@Getter @Setter private long         directMemoryUsed         ;
+	@Getter @Setter private long         directMemoryFallbackCount;
+	@Getter @Setter private int          channelCount             ;
+	@Getter @Setter private long         recentByteCount          ;
+	@Getter @Setter private long         migrationCount           ;
+	@Getter @Setter private long         prematureSelectCount     ;
+	@Getter @Setter private long         selectorRebuildCount     ;
+	@Getter @Setter private List<String> heavyHitters             = Collections.emptyList();
+	
+	
+	/**
+	 * @return average reads per processor wakeup, read budget is used up if it is close to max reads per select.
+	 */
+	public double getReadsPerSelect() {
+		return (selectCount == 0 ? 0 : (double) readCount / selectCount);
+	}
+	
+	/**
+	 * @return average time in nanoseconds from processor wakeup to next select.
+	 */
+	public long getAvgLoopTimeInNanos() {
+		return (selectCount == 0 ? 0 : loopTimeInNanos / selectCount);
+	}
+	
+	@Override
+	public List<String> heavyHitters() {
+		return heavyHitters;
+	}
+	
 }
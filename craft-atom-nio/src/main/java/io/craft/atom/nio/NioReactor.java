@@ -1,9 +1,9 @@
 package io.craft.atom.nio;
 
 import io.craft.atom.io.IoHandler;
-import io.craft.atom.io.IoProcessorX;
 import io.craft.atom.io.IoReactor;
 import io.craft.atom.io.IoReactorX;
+import io.craft.atom.nio.spi.AbstractNioChannelEventDispatcher;
 import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 import lombok.ToString;
@@ -57,16 +57,32 @@ abstract public class NioReactor implements IoReactor {
 		int nc = 0;
 		int fc = 0;
 		int cc = 0;
+		NioMetrics metrics = null;
 		for (NioProcessor np : nps) {
-			IoProcessorX px = np.x();
+			NioProcessorX px = (NioProcessorX) np.x();
 			nc += px.newChannelCount();
 			fc += px.flushingChannelCount();
 			cc += px.closingChannelCount();
+			
+			// aggregate metrics of all the processors
+			if (px.getMetrics() != null) {
+				if (metrics == null) {
+					metrics = new NioMetrics();
+				}
+				metrics.add(px.getMetrics());
+			}
 		}
 		x.setNewChannelCount(nc);
 		x.setFlushingChannelCount(fc);
 		x.setClosingChannelCount(cc);
-		x.setAliveChannelCount(pool.getIdleTimer().aliveChannels().size());
+		x.setAliveChannelCount(pool.getIdleTimer().aliveChannelCount());
+		x.setMetrics(metrics);
+		if (dispatcher instanceof AbstractNioChannelEventDispatcher) {
+			AbstractNioChannelEventDispatcher ad = (AbstractNioChannelEventDispatcher) dispatcher;
+			x.setThrottledChannelCount(ad.throttledChannelCount());
+			x.setThrottleCount(ad.throttleCount());
+			x.setOverBudgetEventCount(ad.overBudgetEventCount());
+		}
 		return x;
 	}
 
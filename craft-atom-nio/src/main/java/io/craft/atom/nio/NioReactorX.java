@@ -1,6 +1,10 @@
 package io.craft.atom.nio;
 
 import io.craft.atom.io.IoReactorX;
+
+import java.util.Collections;
+import java.util.Map;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -14,10 +18,14 @@ import lombok.ToString;
 public class NioReactorX implements IoReactorX {
 	
 	
-	@Getter @Setter private int aliveChannelCount   ;
-	@Getter @Setter private int newChannelCount     ;
-	@Getter @Setter private int flushingChannelCount;
-	@Getter @Setter private int closingChannelCount ;
+	@Getter @Setter private int        aliveChannelCount    ;
+	@Getter @Setter private int        newChannelCount      ;
+	@Getter @Setter private int        flushingChannelCount ;
+	@Getter @Setter private int        closingChannelCount  ;
+	@Getter @Setter private int        throttledChannelCount;
+	@Getter @Setter private long       throttleCount        ;
+	@Getter @Setter private long       overBudgetEventCount ;
+	@Getter @Setter private NioMetrics metrics              ;
 
 	
 	@Override
@@ -39,5 +47,10 @@ public class NioReactorX implements IoReactorX {
 	public int closingChannelCount() {
 		return closingChannelCount;
 	}
+	
+	@Override
+	public Map<String, Long> metrics() {
+		return (metrics == null ? Collections.<String, Long>emptyMap() : metrics.toMap());
+	}
 
 }
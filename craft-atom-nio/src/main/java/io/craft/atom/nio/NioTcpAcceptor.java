@@ -8,10 +8,21 @@ import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
 import java.net.SocketAddress;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import lombok.ToString;
 
@@ -24,13 +35,18 @@ import org.slf4j.LoggerFactory;
  * @author mindwind
  * @version 1.0, Feb 22, 2013
  */
-@ToString(callSuper = true)
+@ToString(callSuper = true, of = { "acceptorThreads" })
 public class NioTcpAcceptor extends NioAcceptor {
 	
 	
 	private static final Logger LOG = LoggerFactory.getLogger(NioTcpAcceptor.class);
 	
 	
+	private final    List<AcceptorThread>                          acceptorThreads   = new ArrayList<AcceptorThread>()                                  ;
+	private final    Map<SocketAddress, List<ServerSocketChannel>> reusePortChannels = new ConcurrentHashMap<SocketAddress, List<ServerSocketChannel>>();
+	private volatile SocketOptions                                 options                                                                            ;
+	
+	
 	// ~ -------------------------------------------------------------------------------------------------------------
 	
 	
@@ -88,15 +104,104 @@ public class NioTcpAcceptor extends NioAcceptor {
 	
 	@Override
 	protected void bindByProtocol(SocketAddress address) throws IOException {
-		ServerSocketChannel ssc = ServerSocketChannel.open();
-		ssc.configureBlocking(false);
-		ServerSocket ss = ssc.socket();
-		ss.setReuseAddress(config.isReuseAddress());
-		ss.bind(address, config.getBacklog());
+		options = new SocketOptions(config);
+		boolean multiple = config.getAcceptorSize() > 1;
+		ServerSocketChannel ssc = null;
+		if (multiple) {
+			ssc = open(address, true);
+		}
+		boolean reusePort = (ssc != null);
+		if (!reusePort) {
+			ssc = open(address, false);
+		}
 		ssc.register(selector, SelectionKey.OP_ACCEPT);
 		boundmap.put(address, ssc);
+		
+		if (multiple) {
+			bindAcceptorThreads(address, ssc, reusePort);
+		}
+	}
+	
+	/**
+	 * Each additional acceptor thread listens on its own server socket with SO_REUSEPORT, so the kernel balances incoming connections,
+	 * if it is not supported the thread shares the server socket of this acceptor and races to accept.
+	 */
+	private void bindAcceptorThreads(SocketAddress address, ServerSocketChannel ssc, boolean reusePort) throws IOException {
+		if (acceptorThreads.isEmpty()) {
+			for (int i = 1; i < config.getAcceptorSize(); i++) {
+				AcceptorThread t = new AcceptorThread(i);
+				acceptorThreads.add(t);
+				t.start();
+			}
+		}
+		
+		List<ServerSocketChannel> channels = new ArrayList<ServerSocketChannel>();
+		reusePortChannels.put(address, channels);
+		for (AcceptorThread t : acceptorThreads) {
+			ServerSocketChannel c = (reusePort ? open(address, true) : null);
+			if (c == null) {
+				c = ssc;
+			} else {
+				channels.add(c);
+			}
+			t.register(c);
+		}
+		LOG.debug("[CRAFT-ATOM-NIO] Bind acceptor threads |address={}, acceptorSize={}, reusePort={}|", address, config.getAcceptorSize(), reusePort);
+	}
+	
+	/**
+	 * @return a bound server socket channel, or <code>null</code> if SO_REUSEPORT is required but not supported.
+	 */
+	private ServerSocketChannel open(SocketAddress address, boolean reusePort) throws IOException {
+		ServerSocketChannel ssc = ServerSocketChannel.open();
+		try {
+			ssc.configureBlocking(false);
+			ServerSocket ss = ssc.socket();
+			ss.setReuseAddress(config.isReuseAddress());
+			
+			// if size > 64K, it must be set on the server socket before bind to take effect on accepted sockets.
+			if (options.receiveBufferSize > 0) {
+				ss.setReceiveBufferSize(options.receiveBufferSize);
+			}
+			if (reusePort && !reusePort(ssc)) {
+				ssc.close();
+				return null;
+			}
+			ss.bind(address, config.getBacklog());
+			return ssc;
+		} catch (IOException e) {
+			ssc.close();
+			throw e;
+		}
+	}
+	
+	@Override
+	protected void unbindByProtocol(SocketAddress address) throws IOException {
+		List<ServerSocketChannel> channels = reusePortChannels.remove(address);
+		if (channels == null) {
+			return;
+		}
+		
+		// closing the channel cancels its keys in all selectors
+		for (ServerSocketChannel c : channels) {
+			c.close();
+		}
+	}
+	
+	@Override
+	protected void shutdownByProtocol() throws IOException {
+		for (AcceptorThread t : acceptorThreads) {
+			t.shutdown();
+		}
+		for (SocketAddress address : reusePortChannels.keySet()) {
+			unbindByProtocol(address);
+		}
 	}
 
+	/**
+	 * Accepts pending connections of the selected server socket up to the accept batch size in one wakeup,
+	 * it returns the last accepted channel.
+	 */
 	@Override
 	protected NioByteChannel acceptByProtocol(SelectionKey key) throws IOException {
 		if (key == null || !key.isValid() || !key.isAcceptable()) {
@@ -104,27 +209,42 @@ public class NioTcpAcceptor extends NioAcceptor {
         }
 		
 		ServerSocketChannel ssc = (ServerSocketChannel) key.channel();
-		SocketChannel sc = null;
-		try {
-			sc = ssc.accept();
-			if (sc == null)              {            return null; }
-			if (isChannelSizeOverflow()) { close(sc); return null; }
-			
-			sc.configureBlocking(false);
-			NioByteChannel channel = new NioTcpByteChannel(sc, config, predictorFactory.newPredictor(config.getMinReadBufferSize(), config.getDefaultReadBufferSize(), config.getMaxReadBufferSize()), dispatcher);
-			NioProcessor processor = pool.pick(channel);
-			processor.setProtocol(IoProtocol.TCP);
-			channel.setProcessor(processor);
-			processor.add(channel);
-			return channel;
-		} catch (IOException e) {
-			close(sc);
-			throw e;
+		NioByteChannel channel = null;
+		for (int i = 0, n = config.getAcceptBatchSize(); i < n; i++) {
+			SocketChannel sc = null;
+			try {
+				sc = ssc.accept();
+				if (sc == null)              {            break; }
+				if (isChannelSizeOverflow()) { close(sc); continue; }
+				
+				sc.configureBlocking(false);
+				configure(sc.socket());
+				channel = new NioTcpByteChannel(sc, config, predictorFactory.newPredictor(config.getMinReadBufferSize(), config.getDefaultReadBufferSize(), config.getMaxReadBufferSize()), dispatcher);
+				NioProcessor processor = pool.pick(channel);
+				processor.setProtocol(IoProtocol.TCP);
+				channel.setProcessor(processor);
+				processor.add(channel);
+			} catch (IOException e) {
+				close(sc);
+				throw e;
+			}
 		}
+		return channel;
+	}
+	
+	/**
+	 * Applies the socket option template, only the options differ from the system default cost a system call.
+	 * The receive buffer size is set on the server socket before bind, so accepted sockets inherit it.
+	 */
+	private void configure(Socket socket) throws SocketException {
+		SocketOptions o = options;
+		if (o.tcpNoDelay)         { socket.setTcpNoDelay(true)                ; }
+		if (o.keepAlive)          { socket.setKeepAlive(true)                 ; }
+		if (o.sendBufferSize > 0) { socket.setSendBufferSize(o.sendBufferSize); }
 	}
 	
-	private boolean isChannelSizeOverflow() throws IOException {
-		int currentChannelSize = x().aliveChannelCount();
+	private boolean isChannelSizeOverflow() {
+		int currentChannelSize = pool.channelCount();
 		int allowChannelSize = config.getChannelSize();
 		if (currentChannelSize >= allowChannelSize) {
 			LOG.warn("[CRAFT-ATOM-NIO] Channel size overflow, |allowChannelSize={}, currentChannelSize={}|", allowChannelSize, currentChannelSize);
@@ -142,5 +262,83 @@ public class NioTcpAcceptor extends NioAcceptor {
 			LOG.error("[CRAFT-ATOM-NIO] Close exception", ex);
 		}
 	}
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	/**
+	 * Socket option template precomputed from the configuration when binding.
+	 */
+	private static class SocketOptions {
+		
+		private final boolean tcpNoDelay       ;
+		private final boolean keepAlive        ;
+		private final int     receiveBufferSize;
+		private final int     sendBufferSize   ;
+		
+		SocketOptions(NioAcceptorConfig config) {
+			this.tcpNoDelay        = config.isTcpNoDelay();
+			this.keepAlive         = config.isKeepAlive();
+			this.receiveBufferSize = config.getReceiveBufferSize();
+			this.sendBufferSize    = config.getSendBufferSize();
+		}
+	}
+	
+	/**
+	 * Additional thread accepts incoming connections on its own selector, and hands accepted channels to the processor pool directly.
+	 */
+	private class AcceptorThread extends Thread {
+		
+		private final    Queue<ServerSocketChannel> registering = new ConcurrentLinkedQueue<ServerSocketChannel>();
+		private final    Selector                   selector                                                     ;
+		private volatile boolean                    running     = true                                           ;
+		
+		AcceptorThread(int index) throws IOException {
+			super("craft-atom-nio-acceptor-" + index);
+			this.selector = Selector.open();
+		}
+		
+		void register(ServerSocketChannel ssc) {
+			registering.offer(ssc);
+			selector.wakeup();
+		}
+		
+		void shutdown() {
+			running = false;
+			selector.wakeup();
+		}
+		
+		@Override
+		public void run() {
+			while (running) {
+				try {
+					int selected = selector.select();
+					for (ServerSocketChannel ssc = registering.poll(); ssc != null; ssc = registering.poll()) {
+						ssc.register(selector, SelectionKey.OP_ACCEPT);
+					}
+					
+					if (selected > 0) {
+						Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+						while (it.hasNext()) {
+							SelectionKey key = it.next();
+							it.remove();
+							acceptByProtocol(key);
+						}
+					}
+				} catch (ClosedSelectorException e) {
+					break;
+				} catch (Exception e) {
+					LOG.error("[CRAFT-ATOM-NIO] Unexpected exception", e);
+				}
+			}
+			
+			try {
+				selector.close();
+			} catch (IOException e) {
+				LOG.warn("[CRAFT-ATOM-NIO] Selector close exception", e);
+			}
+		}
+	}
 
 }
@@ -57,6 +57,11 @@ public class NioTcpByteChannel extends NioByteChannel {
 		return socketChannel.write(buf);
 	}
 	
+	@Override
+	protected long writeTcp(ByteBuffer[] bufs, int offset, int length) throws IOException {
+		return socketChannel.write(bufs, offset, length);
+	}
+	
 	@Override
 	protected void close0() throws IOException {
 		SelectionKey key = getSelectionKey();
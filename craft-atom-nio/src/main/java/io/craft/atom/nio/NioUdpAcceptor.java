@@ -7,12 +7,20 @@ import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 
 import java.io.IOException;
+import java.net.DatagramSocket;
 import java.net.SocketAddress;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.ToString;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 
 /**
  * Acceptor for datagram based on UDP.
@@ -23,6 +31,16 @@ import lombok.ToString;
 @ToString(callSuper = true)
 public class NioUdpAcceptor extends NioAcceptor {
 	
+	
+	private static final Logger LOG = LoggerFactory.getLogger(NioUdpAcceptor.class);
+	
+	
+	private final Map<SocketAddress, List<DatagramChannel>> reusePortChannels = new ConcurrentHashMap<SocketAddress, List<DatagramChannel>>();
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
 	public NioUdpAcceptor(IoHandler handler, int port) {
 		super(handler, port);
 	}
@@ -75,20 +93,105 @@ public class NioUdpAcceptor extends NioAcceptor {
 	// ~ -------------------------------------------------------------------------------------------------------------
 
 	
+	/**
+	 * Binds a datagram socket to the address, if acceptor size is more than one and SO_REUSEPORT is supported, 
+	 * more datagram sockets are bound to the same address and each socket is read by a different processor of the pool.
+	 */
 	@Override
 	protected void bindByProtocol(SocketAddress address) throws IOException {
-		DatagramChannel dc = DatagramChannel.open();
-		dc.configureBlocking(false);
-		dc.socket().setReuseAddress(config.isReuseAddress());
-		dc.socket().bind(address);
+		boolean multiple = config.getAcceptorSize() > 1;
+		DatagramChannel dc = null;
+		if (multiple) {
+			dc = open(address, true);
+		}
+		boolean reusePort = (dc != null);
+		if (!reusePort) {
+			dc = open(address, false);
+		}
 		boundmap.put(address, dc);
 		
-		NioByteChannel channel = new NioUdpByteChannel(dc, config, predictorFactory.newPredictor(config.getMinReadBufferSize(), config.getDefaultReadBufferSize(), config.getMaxReadBufferSize()), dispatcher);
-		NioProcessor processor = pool.pick(channel);
+		if (!reusePort) {
+			add(dc, null);
+			return;
+		}
+		
+		NioProcessor[] processors = pool.getPool();
+		add(dc, processors[0]);
+		List<DatagramChannel> channels = new ArrayList<DatagramChannel>();
+		reusePortChannels.put(address, channels);
+		for (int i = 1; i < config.getAcceptorSize(); i++) {
+			DatagramChannel c = open(address, true);
+			if (c == null) {
+				break;
+			}
+			channels.add(c);
+			add(c, processors[i % processors.length]);
+		}
+		LOG.debug("[CRAFT-ATOM-NIO] Bind reuse port datagram sockets |address={}, acceptorSize={}|", address, config.getAcceptorSize());
+	}
+	
+	/**
+	 * Adds the bound datagram channel to the processor, or the processor picked by pool if it is <code>null</code>.
+	 */
+	private void add(DatagramChannel dc, NioProcessor processor) {
+		NioUdpByteChannel channel = new NioUdpByteChannel(dc, config, predictorFactory.newPredictor(config.getMinReadBufferSize(), config.getDefaultReadBufferSize(), config.getMaxReadBufferSize()), dispatcher);
+		channel.setPredictorFactory(predictorFactory);
+		channel.setConnectThreshold(config.getUdpConnectThreshold());
+		if (processor == null) {
+			processor = pool.pick(channel);
+		}
 		processor.setProtocol(IoProtocol.UDP);
 		channel.setProcessor(processor);
 		processor.add(channel);
 	}
+	
+	/**
+	 * @return a bound datagram channel, or <code>null</code> if SO_REUSEPORT is required but not supported.
+	 */
+	private DatagramChannel open(SocketAddress address, boolean reusePort) throws IOException {
+		DatagramChannel dc = DatagramChannel.open();
+		try {
+			dc.configureBlocking(false);
+			DatagramSocket socket = dc.socket();
+			
+			// connected sockets of hot peers are bound to the same address.
+			socket.setReuseAddress(config.isReuseAddress() || config.getUdpConnectThreshold() > 0);
+			if (config.getReceiveBufferSize() > 0) {
+				socket.setReceiveBufferSize(config.getReceiveBufferSize());
+			}
+			if (config.getSendBufferSize() > 0) {
+				socket.setSendBufferSize(config.getSendBufferSize());
+			}
+			if (reusePort && !reusePort(dc)) {
+				dc.close();
+				return null;
+			}
+			socket.bind(address);
+			return dc;
+		} catch (IOException e) {
+			dc.close();
+			throw e;
+		}
+	}
+	
+	@Override
+	protected void unbindByProtocol(SocketAddress address) throws IOException {
+		List<DatagramChannel> channels = reusePortChannels.remove(address);
+		if (channels == null) {
+			return;
+		}
+		
+		for (DatagramChannel c : channels) {
+			c.close();
+		}
+	}
+	
+	@Override
+	protected void shutdownByProtocol() throws IOException {
+		for (SocketAddress address : reusePortChannels.keySet()) {
+			unbindByProtocol(address);
+		}
+	}
 
 	@Override
 	protected NioByteChannel acceptByProtocol(SelectionKey key) {
@@ -1,6 +1,7 @@
 package io.craft.atom.nio;
 
 import io.craft.atom.nio.spi.NioBufferSizePredictor;
+import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 
 import java.io.IOException;
@@ -8,41 +9,88 @@ import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.ToString;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 
 /**
  * A nio channel for datagram-oriented sockets.
- * 
+ * <p>
+ * The channel of a bound datagram socket receives datagrams of all the peers, each peer has its own peer channel
+ * which shares the bound datagram socket and sends to the peer address, peer channels are cached by peer address.
+ * A hot peer may be connected with its own datagram socket bound to the same local address,
+ * then the kernel delivers datagrams of the peer to the connected socket and the peer channel reads and writes it directly.
+ *
  * @author mindwind
  * @version 1.0, Feb 22, 2013
  */
-@ToString(callSuper = true)
+@ToString(callSuper = true, of = { "connected" })
 public class NioUdpByteChannel extends NioByteChannel {
-	
-	
-	private DatagramChannel datagramChannel; 
-	
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(NioUdpByteChannel.class);
+
+
+	private final    NioConfig                             config          ;
+	private final    NioUdpByteChannel                     parent          ;
+	private final    Map<SocketAddress, NioUdpByteChannel> peers           ;
+	private volatile DatagramChannel                       datagramChannel ;
+	private volatile boolean                               connected       ;
+	private          NioBufferSizePredictorFactory         predictorFactory;
+	private          int                                   connectThreshold;
+	private          long                                  datagramCount   ;
+
 
 	public NioUdpByteChannel(DatagramChannel datagramChannel, NioConfig config, NioBufferSizePredictor predictor, NioChannelEventDispatcher dispatcher) {
 		super(config, predictor, dispatcher);
-		
+
 		if (datagramChannel == null) {
 			throw new IllegalArgumentException("DatagramChannel can not be null.");
 		}
-		
+
+		this.config          = config;
+		this.parent          = null;
+		this.peers           = new ConcurrentHashMap<SocketAddress, NioUdpByteChannel>();
 		this.datagramChannel = datagramChannel;
-		this.localAddress = datagramChannel.socket().getLocalSocketAddress();
+		this.localAddress    = datagramChannel.socket().getLocalSocketAddress();
+	}
+
+	private NioUdpByteChannel(NioUdpByteChannel parent, SocketAddress remoteAddress) {
+		super(parent.config, parent.newPeerPredictor(), parent.dispatcher);
+		this.config          = parent.config;
+		this.parent          = parent;
+		this.peers           = null;
+		this.datagramChannel = parent.datagramChannel;
+		this.localAddress    = parent.localAddress;
+		this.remoteAddress   = remoteAddress;
+		this.processor       = parent.processor;
 	}
 
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
 	@Override
 	protected SocketAddress readUdp(ByteBuffer buf) throws IOException {
+		if (connected) {
+			return (datagramChannel.read(buf) > 0 ? remoteAddress : null);
+		}
 		return datagramChannel.receive(buf);
 	}
 
 	@Override
 	protected int writeUdp(ByteBuffer buf, SocketAddress target) throws IOException {
+		if (connected) {
+			return datagramChannel.write(buf);
+		}
 		return datagramChannel.send(buf, target);
 	}
 
@@ -51,4 +99,123 @@ public class NioUdpByteChannel extends NioByteChannel {
 		return datagramChannel;
 	}
 
+	@Override
+	protected void close0() throws IOException {
+		// the bound datagram socket is closed by acceptor when it is unbound.
+		if (parent == null) {
+			return;
+		}
+
+		parent.peers.remove(remoteAddress);
+		if (connected) {
+			SelectionKey key = getSelectionKey();
+			if (key != null) {
+				key.cancel();
+			}
+			datagramChannel.close();
+		}
+	}
+
+	/**
+	 * An unconnected peer shares the selection key of its bound channel, which is replaced when the selector is rebuilt,
+	 * so it is never copied.
+	 */
+	@Override
+	SelectionKey getSelectionKey() {
+		if (parent != null && !connected) {
+			return parent.getSelectionKey();
+		}
+		return super.getSelectionKey();
+	}
+
+	/**
+	 * @return cached peer channel of the remote address, or <code>null</code> if it does not exist.
+	 */
+	NioUdpByteChannel peer(SocketAddress remoteAddress) {
+		return peers.get(remoteAddress);
+	}
+
+	/**
+	 * Creates and caches a peer channel of the remote address, it is called in process thread of this channel.
+	 */
+	NioUdpByteChannel newPeer(SocketAddress remoteAddress) {
+		NioUdpByteChannel peer = new NioUdpByteChannel(this, remoteAddress);
+		peers.put(remoteAddress, peer);
+		return peer;
+	}
+
+	/**
+	 * @return <code>true</code> if the peer channel receives the datagram that reaches the connect threshold of its bound channel.
+	 */
+	boolean received() {
+		return ++datagramCount == parent.connectThreshold && !connected;
+	}
+
+	/**
+	 * Connects the peer channel with its own datagram socket bound to the same local address,
+	 * the local address must be bound with SO_REUSEADDR.
+	 *
+	 * @return <code>true</code> if connected.
+	 */
+	boolean connect() {
+		DatagramChannel dc = null;
+		try {
+			dc = DatagramChannel.open();
+			dc.configureBlocking(false);
+			dc.socket().setReuseAddress(true);
+			NioAcceptor.reusePort(dc);
+			dc.socket().bind(localAddress);
+			dc.connect(remoteAddress);
+			this.datagramChannel = dc;
+			this.selectionKey    = null;
+			this.connected       = true;
+			return true;
+		} catch (IOException e) {
+			LOG.warn("[CRAFT-ATOM-NIO] Connect datagram channel exception |channel={}|", this, e);
+			close(dc);
+			return false;
+		}
+	}
+
+	private void close(DatagramChannel dc) {
+		if (dc == null) { return; }
+
+		try {
+			dc.close();
+		} catch (IOException e) {
+			LOG.warn("[CRAFT-ATOM-NIO] Close datagram channel exception", e);
+		}
+	}
+
+	private NioBufferSizePredictor newPeerPredictor() {
+		return (predictorFactory == null ? predictor : predictorFactory.newPredictor(config.getMinReadBufferSize(), config.getDefaultReadBufferSize(), config.getMaxReadBufferSize()));
+	}
+
+	boolean isPeer() {
+		return parent != null;
+	}
+
+	boolean isConnected() {
+		return connected;
+	}
+
+	/**
+	 * @return cached peer channels, it is empty for a peer channel.
+	 */
+	Collection<NioUdpByteChannel> peers() {
+		return (peers == null ? Collections.<NioUdpByteChannel>emptyList() : peers.values());
+	}
+
+	int peerCount() {
+		return (peers == null ? 0 : peers.size());
+	}
+
+	void setPredictorFactory(NioBufferSizePredictorFactory predictorFactory) {
+		this.predictorFactory = predictorFactory;
+	}
+
+	void setConnectThreshold(int connectThreshold) {
+		this.connectThreshold = connectThreshold;
+	}
+
 }
@@ -0,0 +1,22 @@
+package io.craft.atom.nio;
+
+/**
+ * Policy of {@link NioByteChannel#write(byte[])} when the channel is not writable, 
+ * queued bytes of the channel exceed the high water mark.
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see NioConfig#setWriteBufferWaterMark(int, int)
+ */
+public enum NioWritePolicy {
+	
+	/** Queue the data anyway, producer should throttle itself by writability changed event. */
+	BUFFER,
+	
+	/** Block the writer until the channel becomes writable again or closed, it never blocks the processor thread. */
+	BLOCK,
+	
+	/** Reject the data and <code>write</code> returns <code>false</code>. */
+	REJECT
+	
+}
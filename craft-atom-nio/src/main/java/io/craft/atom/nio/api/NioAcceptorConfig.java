@@ -13,13 +13,20 @@ import lombok.ToString;
  * @author mindwind
  * @version 1.0, Feb 22, 2013
  */
-@ToString(callSuper = true, of = { "reuseAddress", "backlog" })
+@ToString(callSuper = true, of = { "reuseAddress", "backlog", "acceptorSize", "acceptBatchSize", "tcpNoDelay", "keepAlive", "receiveBufferSize", "sendBufferSize", "udpConnectThreshold" })
 public class NioAcceptorConfig extends NioConfig {
 	
 	
-	@Getter @Setter private boolean reuseAddress = true             ;
-	@Getter @Setter private int     channelSize  = Integer.MAX_VALUE;
-	@Getter         private int     backlog      = 50               ;
+	@Getter @Setter private boolean reuseAddress        = true             ;
+	@Getter @Setter private int     channelSize         = Integer.MAX_VALUE;
+	@Getter         private int     backlog             = 50               ;
+	@Getter         private int     acceptorSize        = 1                ;
+	@Getter         private int     acceptBatchSize     = 64               ;
+	@Getter @Setter private boolean tcpNoDelay          = false            ;
+	@Getter @Setter private boolean keepAlive           = false            ;
+	@Getter @Setter private int     receiveBufferSize   = 0                ;
+	@Getter @Setter private int     sendBufferSize      = 0                ;
+	@Getter         private int     udpConnectThreshold = 0                ;
 	
 	
 	// ~ ---------------------------------------------------------------------------------------------------------------
@@ -28,5 +35,38 @@ public class NioAcceptorConfig extends NioConfig {
 	public void setBacklog(int backlog) {
 		this.backlog = (backlog <= 0 ? 50 : backlog);
 	}
+	
+	/**
+	 * Set the number of threads accept incoming connections of each bound address, 
+	 * each thread listens on its own server socket with SO_REUSEPORT if the jvm and os support it, 
+	 * otherwise all the threads share one server socket.
+	 * For UDP it is the number of datagram sockets bound to each address with SO_REUSEPORT, 
+	 * the kernel spreads datagrams of different peers across the sockets and each socket is read by its own processor.
+	 * 
+	 * @param acceptorSize
+	 */
+	public void setAcceptorSize(int acceptorSize) {
+		this.acceptorSize = (acceptorSize <= 0 ? 1 : acceptorSize);
+	}
+	
+	/**
+	 * Set the max number of pending connections accepted from one server socket in one selector wakeup.
+	 * 
+	 * @param acceptBatchSize
+	 */
+	public void setAcceptBatchSize(int acceptBatchSize) {
+		this.acceptBatchSize = (acceptBatchSize <= 0 ? 1 : acceptBatchSize);
+	}
+	
+	/**
+	 * Set the number of datagrams received from one UDP peer before the peer is connected with its own datagram socket, 
+	 * then datagrams of the hot peer are delivered to the connected socket and read by its own processor. 
+	 * 0 means never connect peers.
+	 * 
+	 * @param udpConnectThreshold
+	 */
+	public void setUdpConnectThreshold(int udpConnectThreshold) {
+		this.udpConnectThreshold = (udpConnectThreshold < 0 ? 0 : udpConnectThreshold);
+	}
 
 }
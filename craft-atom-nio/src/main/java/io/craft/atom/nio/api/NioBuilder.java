@@ -3,9 +3,12 @@ package io.craft.atom.nio.api;
 import io.craft.atom.io.IoHandler;
 import io.craft.atom.nio.NioAdaptiveBufferSizePredictorFactory;
 import io.craft.atom.nio.NioConfig;
+import io.craft.atom.nio.NioHashProcessorSelectionStrategy;
 import io.craft.atom.nio.NioOrderedDirectChannelEventDispatcher;
+import io.craft.atom.nio.NioWritePolicy;
 import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
 import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
 
 
 
@@ -16,18 +19,34 @@ import io.craft.atom.nio.spi.NioChannelEventDispatcher;
 public abstract class NioBuilder<T> {
 	
 	
-	protected final IoHandler                     handler                                                         ;
-	protected       NioChannelEventDispatcher     dispatcher        = new NioOrderedDirectChannelEventDispatcher();
-	protected       NioBufferSizePredictorFactory predictorFactory  = new NioAdaptiveBufferSizePredictorFactory() ;
-	protected       int                           readBufferSize    = 2048                                        ;
-	protected       int                           minReadBufferSize = 64                                          ;
-	protected       int                           maxReadBufferSize = 65536                                       ;
-	protected       int                           ioTimeoutInMillis = 120 * 1000                                  ;
-	protected       int                           processorPoolSize = Runtime.getRuntime().availableProcessors()  ;
-	protected       int                           executorSize      = processorPoolSize << 3                      ;
-	protected       int                           channelEventSize  = Integer.MAX_VALUE                           ;
-	protected       int                           totalEventSize    = Integer.MAX_VALUE                           ;
-	protected       boolean                       readWriteFair     = true                                        ;
+	protected final IoHandler                     handler                                                                ;
+	protected       NioChannelEventDispatcher     dispatcher               = new NioOrderedDirectChannelEventDispatcher();
+	protected       NioBufferSizePredictorFactory predictorFactory         = new NioAdaptiveBufferSizePredictorFactory() ;
+	protected       int                           readBufferSize           = 2048                                        ;
+	protected       int                           minReadBufferSize        = 64                                          ;
+	protected       int                           maxReadBufferSize        = 65536                                       ;
+	protected       int                           ioTimeoutInMillis        = 120 * 1000                                  ;
+	protected       int                           processorPoolSize        = Runtime.getRuntime().availableProcessors()  ;
+	protected       int                           executorSize             = processorPoolSize << 3                      ;
+	protected       int                           channelEventSize         = Integer.MAX_VALUE                           ;
+	protected       int                           totalEventSize           = Integer.MAX_VALUE                           ;
+	protected       int                           gatheringWriteSize       = 0                                           ;
+	protected       int                           coalescingWriteThreshold = 0                                           ;
+	protected       boolean                       readWriteFair            = true                                        ;
+	protected       boolean                       directBuffer             = false                                       ;
+	protected       long                          directMemoryBudget       = 64L << 20                                   ;
+	protected       int                           writeBufferLowWaterMark  = 0                                           ;
+	protected       int                           writeBufferHighWaterMark = 0                                           ;
+	protected       NioWritePolicy                writePolicy              = NioWritePolicy.BUFFER                       ;
+	protected       int                           maxReadsPerSelect        = 1                                           ;
+	protected       long                          maxReadBytesPerSelect    = Long.MAX_VALUE                              ;
+	protected       NioProcessorSelectionStrategy selectionStrategy        = new NioHashProcessorSelectionStrategy()     ;
+	protected       boolean                       channelMigration         = false                                       ;
+	protected       boolean                       busyPoll                 = false                                       ;
+	protected       int                           busyPollSpins            = 1000                                        ;
+	protected       int                           busyPollYields           = 100                                         ;
+	protected       long                          busyPollParkNanos        = 50 * 1000                                   ;
+	protected       boolean                       metrics                  = false                                       ;
 	
 	
 	public NioBuilder(IoHandler handler) {
@@ -35,29 +54,55 @@ public abstract class NioBuilder<T> {
 	}
 	
 	
-	public NioBuilder<T> minReadBufferSize(int size)                              { this.minReadBufferSize = size      ; return this; }
-	public NioBuilder<T> maxReadBufferSize(int size)                              { this.maxReadBufferSize = size      ; return this; }
-	public NioBuilder<T> readBufferSize   (int size)                              { this.readBufferSize    = size      ; return this; }
-	public NioBuilder<T> processorPoolSize(int size)                              { this.processorPoolSize = size      ; return this; }
-	public NioBuilder<T> executorSize     (int size)                              { this.executorSize      = size      ; return this; }
-	public NioBuilder<T> channelEventSize (int size)                              { this.channelEventSize  = size      ; return this; }
-	public NioBuilder<T> totalEventSize   (int size)                              { this.totalEventSize    = size      ; return this; }
-	public NioBuilder<T> ioTimeoutInMillis(int timeout)                           { this.ioTimeoutInMillis = timeout   ; return this; }
-	public NioBuilder<T> readWriteFair    (boolean fair)                          { this.readWriteFair     = fair      ; return this; }
-	public NioBuilder<T> dispatcher       (NioChannelEventDispatcher dispatcher)  { this.dispatcher        = dispatcher; return this; }
-	public NioBuilder<T> predictorFactory (NioBufferSizePredictorFactory factory) { this.predictorFactory  = factory   ; return this; }
+	public NioBuilder<T> minReadBufferSize       (int size)                               { this.minReadBufferSize        = size      ; return this; }
+	public NioBuilder<T> maxReadBufferSize       (int size)                               { this.maxReadBufferSize        = size      ; return this; }
+	public NioBuilder<T> readBufferSize          (int size)                               { this.readBufferSize           = size      ; return this; }
+	public NioBuilder<T> processorPoolSize       (int size)                               { this.processorPoolSize        = size      ; return this; }
+	public NioBuilder<T> executorSize            (int size)                               { this.executorSize             = size      ; return this; }
+	public NioBuilder<T> channelEventSize        (int size)                               { this.channelEventSize         = size      ; return this; }
+	public NioBuilder<T> totalEventSize          (int size)                               { this.totalEventSize           = size      ; return this; }
+	public NioBuilder<T> ioTimeoutInMillis       (int timeout)                            { this.ioTimeoutInMillis        = timeout   ; return this; }
+	public NioBuilder<T> readWriteFair           (boolean fair)                           { this.readWriteFair            = fair      ; return this; }
+	public NioBuilder<T> gatheringWriteSize      (int size)                               { this.gatheringWriteSize       = size      ; return this; }
+	public NioBuilder<T> coalescingWriteThreshold(int threshold)                          { this.coalescingWriteThreshold = threshold ; return this; }
+	public NioBuilder<T> directBuffer            (boolean direct)                         { this.directBuffer             = direct    ; return this; }
+	public NioBuilder<T> directMemoryBudget      (long budget)                            { this.directMemoryBudget       = budget    ; return this; }
+	public NioBuilder<T> writeBufferWaterMark    (int low, int high)                      { this.writeBufferLowWaterMark = low; this.writeBufferHighWaterMark = high; return this; }
+	public NioBuilder<T> writePolicy             (NioWritePolicy policy)                  { this.writePolicy              = policy    ; return this; }
+	public NioBuilder<T> maxReadsPerSelect       (int reads)                              { this.maxReadsPerSelect        = reads     ; return this; }
+	public NioBuilder<T> maxReadBytesPerSelect   (long bytes)                             { this.maxReadBytesPerSelect    = bytes     ; return this; }
+	public NioBuilder<T> dispatcher              (NioChannelEventDispatcher dispatcher)   { this.dispatcher               = dispatcher; return this; }
+	public NioBuilder<T> predictorFactory        (NioBufferSizePredictorFactory factory)  { this.predictorFactory         = factory   ; return this; }
+	public NioBuilder<T> selectionStrategy       (NioProcessorSelectionStrategy strategy) { this.selectionStrategy        = strategy  ; return this; }
+	public NioBuilder<T> channelMigration        (boolean migration)                      { this.channelMigration         = migration ; return this; }
+	public NioBuilder<T> busyPoll                (boolean busyPoll)                       { this.busyPoll                 = busyPoll  ; return this; }
+	public NioBuilder<T> busyPollBackoff         (int spins, int yields, long parkNanos)  { this.busyPollSpins = spins; this.busyPollYields = yields; this.busyPollParkNanos = parkNanos; return this; }
+	public NioBuilder<T> metrics                 (boolean metrics)                        { this.metrics                  = metrics   ; return this; }
 	
 	
 	protected void set(NioConfig config) {
-		config.setReadWritefair(readWriteFair)         ;
-		config.setTotalEventSize(totalEventSize)       ;
-		config.setChannelEventSize(channelEventSize)   ;
-		config.setExecutorSize(executorSize)           ;
-		config.setProcessorPoolSize(processorPoolSize) ;
-		config.setIoTimeoutInMillis(ioTimeoutInMillis) ;
-		config.setDefaultReadBufferSize(readBufferSize);
-		config.setMinReadBufferSize(minReadBufferSize) ;
-		config.setMaxReadBufferSize(maxReadBufferSize) ;
+		config.setReadWritefair(readWriteFair)                                           ;
+		config.setTotalEventSize(totalEventSize)                                         ;
+		config.setChannelEventSize(channelEventSize)                                     ;
+		config.setExecutorSize(executorSize)                                             ;
+		config.setProcessorPoolSize(processorPoolSize)                                   ;
+		config.setIoTimeoutInMillis(ioTimeoutInMillis)                                   ;
+		config.setDefaultReadBufferSize(readBufferSize)                                  ;
+		config.setMinReadBufferSize(minReadBufferSize)                                   ;
+		config.setMaxReadBufferSize(maxReadBufferSize)                                   ;
+		config.setGatheringWriteSize(gatheringWriteSize)                                 ;
+		config.setCoalescingWriteThreshold(coalescingWriteThreshold)                     ;
+		config.setDirectBuffer(directBuffer)                                             ;
+		config.setDirectMemoryBudget(directMemoryBudget)                                 ;
+		config.setWriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark);
+		config.setMaxReadsPerSelect(maxReadsPerSelect)                                   ;
+		config.setMaxReadBytesPerSelect(maxReadBytesPerSelect)                           ;
+		config.setWritePolicy(writePolicy)                                               ;
+		config.setProcessorSelectionStrategy(selectionStrategy)                          ;
+		config.setChannelMigration(channelMigration)                                     ;
+		config.setBusyPoll(busyPoll)                                                     ;
+		config.setBusyPollBackoff(busyPollSpins, busyPollYields, busyPollParkNanos)      ;
+		config.setMetrics(metrics)                                                       ;
 	}
 	
 	abstract public T build();
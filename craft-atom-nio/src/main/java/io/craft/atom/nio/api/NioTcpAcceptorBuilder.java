@@ -14,9 +14,15 @@ import io.craft.atom.nio.NioTcpAcceptor;
 public class NioTcpAcceptorBuilder extends NioBuilder<IoAcceptor> {
 	
 	
-	private int     backlog      = 50               ;
-	private int     channelSize  = Integer.MAX_VALUE;
-	private boolean reuseAddress = true             ;
+	private int     backlog           = 50               ;
+	private int     channelSize       = Integer.MAX_VALUE;
+	private boolean reuseAddress      = true             ;
+	private int     acceptorSize      = 1                ;
+	private int     acceptBatchSize   = 64               ;
+	private boolean tcpNoDelay        = false            ;
+	private boolean keepAlive         = false            ;
+	private int     receiveBufferSize = 0                ;
+	private int     sendBufferSize    = 0                ;
 
 	
 	public NioTcpAcceptorBuilder(IoHandler handler) {
@@ -24,9 +30,15 @@ public class NioTcpAcceptorBuilder extends NioBuilder<IoAcceptor> {
 	}
 	
 	
-	public NioTcpAcceptorBuilder backlog     (int backlog)          { this.backlog      = backlog     ; return this; }
-	public NioTcpAcceptorBuilder channelSize (int channelSize)      { this.channelSize  = channelSize ; return this; }
-    public NioTcpAcceptorBuilder reuseAddress(boolean reuseAddress) { this.reuseAddress = reuseAddress; return this; }
+	public NioTcpAcceptorBuilder backlog          (int backlog)          { this.backlog           = backlog     ; return this; }
+	public NioTcpAcceptorBuilder channelSize      (int channelSize)      { this.channelSize       = channelSize ; return this; }
+    public NioTcpAcceptorBuilder reuseAddress     (boolean reuseAddress) { this.reuseAddress      = reuseAddress; return this; }
+    public NioTcpAcceptorBuilder acceptorSize     (int acceptorSize)     { this.acceptorSize      = acceptorSize; return this; }
+    public NioTcpAcceptorBuilder acceptBatchSize  (int size)             { this.acceptBatchSize   = size        ; return this; }
+    public NioTcpAcceptorBuilder tcpNoDelay       (boolean on)           { this.tcpNoDelay        = on          ; return this; }
+    public NioTcpAcceptorBuilder keepAlive        (boolean on)           { this.keepAlive         = on          ; return this; }
+    public NioTcpAcceptorBuilder receiveBufferSize(int size)             { this.receiveBufferSize = size        ; return this; }
+    public NioTcpAcceptorBuilder sendBufferSize   (int size)             { this.sendBufferSize    = size        ; return this; }
 	
     
 	public IoAcceptor build() {
@@ -34,6 +46,12 @@ public class NioTcpAcceptorBuilder extends NioBuilder<IoAcceptor> {
 		config.setBacklog(backlog);
 		config.setChannelSize(channelSize);
 		config.setReuseAddress(reuseAddress);
+		config.setAcceptorSize(acceptorSize);
+		config.setAcceptBatchSize(acceptBatchSize);
+		config.setTcpNoDelay(tcpNoDelay);
+		config.setKeepAlive(keepAlive);
+		config.setReceiveBufferSize(receiveBufferSize);
+		config.setSendBufferSize(sendBufferSize);
 		set(config);
 		return new NioTcpAcceptor(handler, config, dispatcher, predictorFactory);
 	}
@@ -2,7 +2,11 @@ package io.craft.atom.nio.spi;
 
 import io.craft.atom.nio.NioByteChannel;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.ToString;
 
@@ -12,23 +16,32 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Base implementation of {@link NioChannelEventDispatcher}
- * 
+ * <p>
+ * Admission of total events never blocks the io process thread, when total event size is reached
+ * the event is still admitted because its data has been read, but the read of its channel is suspended,
+ * suspended channels are resumed one by one in arrival order as the events in process are done.
+ * Likewise the read of a channel is suspended when its channel event size is reached and resumed when its event is done.
+ *
  * @author mindwind
  * @version 1.0, Feb 27, 2013
  */
-@ToString(of = { "semaphore" })
+@ToString(of = { "semaphore", "overBudgetEvents", "throttledChannels", "throttleCount" })
 abstract public class AbstractNioChannelEventDispatcher implements NioChannelEventDispatcher {
-	
-	
+
+
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractNioChannelEventDispatcher.class);
-	
-	
-	protected final Semaphore semaphore;
-	
-	
+
+
+	protected final Semaphore             semaphore                                                        ;
+	protected final AtomicInteger         overBudgetEvents     = new AtomicInteger()                       ;
+	protected final AtomicLong            overBudgetEventCount = new AtomicLong()                          ;
+	protected final AtomicLong            throttleCount        = new AtomicLong()                          ;
+	protected final Queue<NioByteChannel> throttledChannels    = new ConcurrentLinkedQueue<NioByteChannel>();
+
+
 	// ~ ------------------------------------------------------------------------------------------------------------
-	
-	
+
+
 	public AbstractNioChannelEventDispatcher() {
 		this(Integer.MAX_VALUE);
 	}
@@ -39,35 +52,92 @@ abstract public class AbstractNioChannelEventDispatcher implements NioChannelEve
 		}
 		this.semaphore = new Semaphore(totalEventSize, false);
 	}
-	
-	
+
+
 	// ~ ------------------------------------------------------------------------------------------------------------
-	
-	
+
+
 	protected void beforeDispatch(NioByteChannel channel) {
 		boolean b = channel.tryAcquire();
-		if (!b) {
-			channel.pause();
-			LOG.warn("[CRAFT-ATOM-NIO]] Pause |channel={}, availablePermits={}|", channel, channel.availablePermits());
+		if (!b && channel.suspendRead(NioByteChannel.SUSPEND_READ_BY_CHANNEL_EVENT)) {
+			LOG.warn("[CRAFT-ATOM-NIO] Suspend read |channel={}, availablePermits={}|", channel, channel.availablePermits());
 		}
-		
-		try {
-			semaphore.acquire();
-		} catch (InterruptedException e) {
-			LOG.warn("[CRAFT-ATOM-NIO] Semaphore acquire interrupt", e);
+
+		if (!semaphore.tryAcquire()) {
+			overBudgetEvents.incrementAndGet();
+			overBudgetEventCount.incrementAndGet();
+			throttle(channel);
 		}
 	}
-	
+
 	protected void afterDispatch(NioByteChannel channel) {
 		channel.release();
-		if (channel.isPaused()) {
-			channel.resume();
-			LOG.warn("[CRAFT-ATOM-NIO]] Resume |channel={} availablePermits={}|", channel, channel.availablePermits());
+		if (channel.resumeRead(NioByteChannel.SUSPEND_READ_BY_CHANNEL_EVENT)) {
+			LOG.warn("[CRAFT-ATOM-NIO] Resume read |channel={}, availablePermits={}|", channel, channel.availablePermits());
+		}
+
+		// an over budget event holds no permit, so it is paid back by decreasing the over budget count.
+		if (!decrementOverBudgetEvents()) {
+			semaphore.release();
 		}
-		
-		semaphore.release();
+		admit();
 	}
-	
+
+	private void throttle(NioByteChannel channel) {
+		if (channel.suspendRead(NioByteChannel.SUSPEND_READ_BY_TOTAL_EVENT)) {
+			throttleCount.incrementAndGet();
+			throttledChannels.offer(channel);
+			LOG.debug("[CRAFT-ATOM-NIO] Throttle |channel={}, overBudgetEvents={}|", channel, overBudgetEvents.get());
+		}
+	}
+
+	private void admit() {
+		// resume a throttled channel for each available permit, a resumed channel may have no more data to read.
+		for (int permits = semaphore.availablePermits(); permits > 0 && overBudgetEvents.get() == 0; permits--) {
+			NioByteChannel channel = throttledChannels.poll();
+			if (channel == null) {
+				return;
+			}
+
+			if (channel.resumeRead(NioByteChannel.SUSPEND_READ_BY_TOTAL_EVENT)) {
+				LOG.debug("[CRAFT-ATOM-NIO] Admit |channel={}, availablePermits={}|", channel, semaphore.availablePermits());
+			}
+		}
+	}
+
+	private boolean decrementOverBudgetEvents() {
+		for (;;) {
+			int n = overBudgetEvents.get();
+			if (n <= 0) {
+				return false;
+			}
+			if (overBudgetEvents.compareAndSet(n, n - 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @return total count of events admitted over the total event size.
+	 */
+	public long overBudgetEventCount() {
+		return overBudgetEventCount.get();
+	}
+
+	/**
+	 * @return total count of channel read suspension because of the total event size is reached.
+	 */
+	public long throttleCount() {
+		return throttleCount.get();
+	}
+
+	/**
+	 * @return current count of channels whose read is suspended by the dispatcher.
+	 */
+	public int throttledChannelCount() {
+		return throttledChannels.size();
+	}
+
 	@Override
 	public void shutdown() {}
 
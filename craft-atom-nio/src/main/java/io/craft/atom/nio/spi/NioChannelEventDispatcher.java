@@ -2,7 +2,9 @@ package io.craft.atom.nio.spi;
 
 import io.craft.atom.io.ChannelEvent;
 import io.craft.atom.io.IoHandler;
+import io.craft.atom.nio.NioOrderedAffinityChannelEventDispatcher;
 import io.craft.atom.nio.NioOrderedDirectChannelEventDispatcher;
+import io.craft.atom.nio.NioOrderedElasticChannelEventDispatcher;
 import io.craft.atom.nio.NioOrderedThreadPoolChannelEventDispatcher;
 
 
@@ -12,6 +14,8 @@ import io.craft.atom.nio.NioOrderedThreadPoolChannelEventDispatcher;
  * @author mindwind
  * @version 1.0, Feb 22, 2013
  * @see NioOrderedThreadPoolChannelEventDispatcher
+ * @see NioOrderedAffinityChannelEventDispatcher
+ * @see NioOrderedElasticChannelEventDispatcher
  * @see NioOrderedDirectChannelEventDispatcher
  */
 public interface NioChannelEventDispatcher {
@@ -0,0 +1,28 @@
+package io.craft.atom.nio.spi;
+
+import io.craft.atom.nio.NioByteChannel;
+import io.craft.atom.nio.NioProcessor;
+
+/**
+ * Strategy selects a processor from the processor pool for a new channel.
+ * <p>
+ * It is called by acceptor or connector thread for each new channel, so it should be cheap and thread safe.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see io.craft.atom.nio.NioHashProcessorSelectionStrategy
+ * @see io.craft.atom.nio.NioLeastChannelsProcessorSelectionStrategy
+ * @see io.craft.atom.nio.NioLeastBytesProcessorSelectionStrategy
+ */
+public interface NioProcessorSelectionStrategy {
+
+	/**
+	 * Select a processor for the channel.
+	 *
+	 * @param processors all the processors of the pool, never empty
+	 * @param channel    the new channel
+	 * @return selected processor
+	 */
+	NioProcessor select(NioProcessor[] processors, NioByteChannel channel);
+
+}
@@ -0,0 +1,85 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ping-pong latency benchmark on loopback for blocking select and busy poll processors.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioBusyPollLatency {
+
+
+	private static final Logger LOG      = LoggerFactory.getLogger(TestNioBusyPollLatency.class);
+	private static final int    MSG_SIZE = 8                                                   ;
+	private static final int    WARMUP   = 2000                                                ;
+	private static final int    ROUNDS   = 10000                                               ;
+
+
+	@Test
+	public void testLatency() throws Exception {
+		long[] blocking = pingpong(false);
+		long[] busy     = pingpong(true);
+		LOG.debug("[CRAFT-ATOM-NIO] Ping-pong latency blocking  |p50={}ns, p99={}ns, p999={}ns|", percentile(blocking, 0.5), percentile(blocking, 0.99), percentile(blocking, 0.999));
+		LOG.debug("[CRAFT-ATOM-NIO] Ping-pong latency busy poll |p50={}ns, p99={}ns, p999={}ns|", percentile(busy, 0.5), percentile(busy, 0.99), percentile(busy, 0.999));
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio busy poll latency. ", CaseCounter.incr(1)));
+	}
+
+	private long[] pingpong(boolean busyPoll) throws Exception {
+		final Semaphore pong = new Semaphore(0);
+		final AtomicInteger received = new AtomicInteger();
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(new NioEchoServerHandler()).tcpNoDelay(true).processorPoolSize(1).busyPoll(busyPoll).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (received.addAndGet(bytes.length) >= MSG_SIZE) {
+					received.addAndGet(-MSG_SIZE);
+					pong.release();
+				}
+			}
+		}).processorPoolSize(1).busyPoll(busyPoll).build();
+
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			long[] latencies = new long[ROUNDS];
+			for (int i = 0; i < WARMUP + ROUNDS; i++) {
+				long s = System.nanoTime();
+				channel.write(new byte[MSG_SIZE]);
+				Assert.assertTrue(pong.tryAcquire(10, TimeUnit.SECONDS));
+				if (i >= WARMUP) {
+					latencies[i - WARMUP] = System.nanoTime() - s;
+				}
+			}
+			Arrays.sort(latencies);
+			return latencies;
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+	}
+
+	private long percentile(long[] sorted, double p) {
+		return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+	}
+
+}
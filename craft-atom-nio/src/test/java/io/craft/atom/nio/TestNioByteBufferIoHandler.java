@@ -0,0 +1,108 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioAcceptorConfig;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+import io.craft.atom.util.buffer.CachedBufferAllocator;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Future;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NioByteBufferIoHandler}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioByteBufferIoHandler {
+
+
+	private static final byte LF = 10;
+
+
+	@Test
+	public void testEcho() throws Exception {
+		NioConnectorHandler handler = new NioConnectorHandler();
+		IoConnector connector = NioFactory.newTcpConnector(handler);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(new EchoHandler());
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+
+		String msg = build(98304);
+		Future<Channel<byte[]>> future = connector.connect("127.0.0.1", port);
+		Channel<byte[]> channel = future.get();
+		synchronized (channel) {
+			channel.write(msg.getBytes());
+			channel.wait();
+		}
+		acceptor.shutdown();
+		connector.shutdown();
+		Assert.assertEquals(msg, handler.getRcv());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio byte buffer io handler echo. ", CaseCounter.incr(1)));
+	}
+
+	@Test
+	public void testRetainRelease() {
+		NioChannelEventDispatcher dispatcher = new NioOrderedDirectChannelEventDispatcher();
+		EchoHandler handler = new EchoHandler();
+		NioProcessor processor = new NioProcessor(new NioAcceptorConfig(), handler, dispatcher, new NioChannelIdleTimer(dispatcher, handler, 0));
+		NioPooledByteBuffer buf = new NioPooledByteBuffer(new CachedBufferAllocator().allocate(64, false), processor);
+		Assert.assertEquals(1, buf.refCnt());
+		buf.retain();
+		Assert.assertEquals(2, buf.refCnt());
+		Assert.assertFalse(buf.release());
+		Assert.assertEquals(1, buf.refCnt());
+		Assert.assertTrue(buf.release());
+		Assert.assertEquals(0, buf.refCnt());
+		try {
+			buf.buf();
+			Assert.fail();
+		} catch (IllegalStateException e) {}
+		try {
+			buf.release();
+			Assert.fail();
+		} catch (IllegalStateException e) {}
+		processor.shutdown();
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio pooled byte buffer retain & release. ", CaseCounter.incr(8)));
+	}
+
+	private String build(int len) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < len - 1; i++) {
+			sb.append("1");
+		}
+		sb.append("\n");
+		return sb.toString();
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class EchoHandler extends AbstractIoHandler implements NioByteBufferIoHandler {
+
+		private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		@Override
+		public void channelRead(Channel<byte[]> channel, NioPooledByteBuffer buffer) {
+			byte[] bytes = buffer.bytes();
+			out.write(bytes, 0, bytes.length);
+			if (bytes[bytes.length - 1] == LF) {
+				channel.write(out.toByteArray());
+				out.reset();
+			}
+		}
+
+	}
+
+}
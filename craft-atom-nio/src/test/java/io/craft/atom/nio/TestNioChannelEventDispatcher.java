@@ -0,0 +1,178 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.ChannelEventType;
+import io.craft.atom.io.IoHandler;
+import io.craft.atom.nio.api.NioAcceptorConfig;
+import io.craft.atom.nio.spi.NioChannelEventDispatcher;
+import io.craft.atom.test.CaseCounter;
+import io.craft.atom.util.ByteUtil;
+
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests and benchmark for ordered {@link NioChannelEventDispatcher} implementations.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioChannelEventDispatcher {
+
+
+	private static final Logger LOG       = LoggerFactory.getLogger(TestNioChannelEventDispatcher.class);
+	private static final int    PRODUCERS = 4                                                          ;
+	private static final int    CHANNELS  = 256                                                        ;
+	private static final int    EVENTS    = 2000                                                       ;
+
+
+	@Test
+	public void testOrderedDispatch() throws Exception {
+		int[] sizes = new int[] { 8, 32, 64 };
+		for (int size : sizes) {
+			long pt = benchmark(new NioOrderedThreadPoolChannelEventDispatcher(size, Integer.MAX_VALUE));
+			long at = benchmark(new NioOrderedAffinityChannelEventDispatcher(size, Integer.MAX_VALUE));
+			LOG.debug("[CRAFT-ATOM-NIO] Ordered dispatch |workers={}, channels={}, events={}, thread-pool={}ms, affinity={}ms|", size, CHANNELS, (long) CHANNELS * EVENTS, pt, at);
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio ordered channel event dispatch. ", CaseCounter.incr(6)));
+	}
+
+	@Test
+	public void testBlockingHandler() throws Exception {
+		int channels = 200, sleep = 100;
+		long pt = blocking(new NioOrderedThreadPoolChannelEventDispatcher(8, Integer.MAX_VALUE), channels, sleep);
+		long et = blocking(new NioOrderedElasticChannelEventDispatcher(), channels, sleep);
+		LOG.debug("[CRAFT-ATOM-NIO] Blocking handler |channels={}, sleep={}ms, thread-pool={}ms, elastic={}ms|", channels, sleep, pt, et);
+		
+		// blocked channels never stall others, so total time is close to one sleep
+		Assert.assertTrue(et < sleep * 10);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio blocking handler dispatch. ", CaseCounter.incr(1)));
+	}
+
+	@Test
+	public void testElasticThreads() throws Exception {
+		// steady traffic is handed off to idle threads, the pool does not grow with the number of events.
+		NioOrderedElasticChannelEventDispatcher dispatcher = new NioOrderedElasticChannelEventDispatcher();
+		NioByteChannel[] channels = new NioByteChannel[8];
+		for (int i = 0; i < channels.length; i++) {
+			channels[i] = new NioTcpByteChannel(SocketChannel.open(), new NioAcceptorConfig(), null, dispatcher);
+		}
+		try {
+			for (int i = 0; i < 1000; i++) {
+				final CountDownLatch fired = new CountDownLatch(1);
+				dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channels[i % channels.length], new AbstractIoHandler() {
+					@Override
+					public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+						fired.countDown();
+					}
+				}, new byte[0]));
+				Assert.assertTrue(fired.await(5, TimeUnit.SECONDS));
+			}
+			LOG.debug("[CRAFT-ATOM-NIO] Elastic dispatcher |largestThreads={}|", dispatcher.largestThreadCount());
+			Assert.assertTrue(dispatcher.largestThreadCount() <= Runtime.getRuntime().availableProcessors() + 8);
+		} finally {
+			dispatcher.shutdown();
+			for (NioByteChannel channel : channels) {
+				channel.innerChannel().close();
+			}
+		}
+		
+		// events overflow max threads are fired by the dispatching thread, nothing is rejected.
+		long elapse = blocking(new NioOrderedElasticChannelEventDispatcher(2, 60, Integer.MAX_VALUE), 8, 10);
+		LOG.debug("[CRAFT-ATOM-NIO] Elastic dispatcher overflow |elapse={}ms|", elapse);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio elastic dispatcher threads. ", CaseCounter.incr(2)));
+	}
+
+	private long blocking(NioChannelEventDispatcher dispatcher, int size, final int sleep) throws Exception {
+		final CountDownLatch done = new CountDownLatch(size);
+		IoHandler handler = new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				try {
+					Thread.sleep(sleep);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}
+		};
+
+		NioByteChannel[] channels = new NioByteChannel[size];
+		long s = System.currentTimeMillis();
+		for (int i = 0; i < size; i++) {
+			channels[i] = new NioTcpByteChannel(SocketChannel.open(), new NioAcceptorConfig(), null, dispatcher);
+			dispatcher.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channels[i], handler, new byte[0]));
+		}
+		Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+		long elapse = System.currentTimeMillis() - s;
+
+		dispatcher.shutdown();
+		for (NioByteChannel channel : channels) {
+			channel.innerChannel().close();
+		}
+		return elapse;
+	}
+
+	private long benchmark(NioChannelEventDispatcher dispatcher) throws Exception {
+		final CountDownLatch done = new CountDownLatch(CHANNELS);
+		final AtomicBoolean disorder = new AtomicBoolean(false);
+		final ConcurrentHashMap<Long, AtomicInteger> sequences = new ConcurrentHashMap<Long, AtomicInteger>();
+		IoHandler handler = new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				int seq = ByteUtil.bytes2int(bytes);
+				if (sequences.get(channel.getId()).getAndIncrement() != seq) {
+					disorder.set(true);
+				}
+				if (seq == EVENTS - 1) {
+					done.countDown();
+				}
+			}
+		};
+
+		final NioByteChannel[] channels = new NioByteChannel[CHANNELS];
+		for (int i = 0; i < CHANNELS; i++) {
+			channels[i] = new NioTcpByteChannel(SocketChannel.open(), new NioAcceptorConfig(), null, dispatcher);
+			sequences.put(channels[i].getId(), new AtomicInteger());
+		}
+
+		long s = System.currentTimeMillis();
+		for (int p = 0; p < PRODUCERS; p++) {
+			final int from = p * (CHANNELS / PRODUCERS);
+			final NioChannelEventDispatcher d = dispatcher;
+			final IoHandler h = handler;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < EVENTS; j++) {
+						byte[] seq = ByteUtil.int2bytes(j);
+						for (int i = from; i < from + CHANNELS / PRODUCERS; i++) {
+							d.dispatch(new NioByteChannelEvent(ChannelEventType.CHANNEL_READ, channels[i], h, seq));
+						}
+					}
+				}
+			}).start();
+		}
+		Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+		long elapse = System.currentTimeMillis() - s;
+
+		dispatcher.shutdown();
+		for (NioByteChannel channel : channels) {
+			channel.innerChannel().close();
+		}
+		Assert.assertFalse(disorder.get());
+		return elapse;
+	}
+
+}
@@ -0,0 +1,125 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for coalescing write and cork, compare throughput of many small messages with coalescing write and one by one write.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioCoalescingWrite {
+
+
+	private static final Logger LOG       = LoggerFactory.getLogger(TestNioCoalescingWrite.class);
+	private static final int    MSG_SIZE  = 100                                                   ;
+	private static final int    MSG_COUNT = 50000                                                 ;
+
+
+	@Test
+	public void testCork() throws Exception {
+		int port = AvailablePortFinder.getNextAvailable();
+		int count = 1000;
+		BytesHandler handler = new BytesHandler(count * 4);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(handler);
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {}).coalescingWriteThreshold(1024).build();
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			channel.cork();
+			for (int i = 0; i < count; i++) {
+				byte[] msg = String.format("%04d", i % 10000).getBytes();
+				expected.write(msg);
+				channel.write(msg);
+			}
+
+			// nothing is flushed before uncork
+			Assert.assertFalse(handler.await(200, TimeUnit.MILLISECONDS));
+			Assert.assertEquals(count, channel.getWriteQueue().size());
+			channel.uncork();
+			Assert.assertTrue(handler.await(10, TimeUnit.SECONDS));
+			Assert.assertEquals(new String(expected.toByteArray()), new String(handler.bytes()));
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio cork & coalescing write. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testCoalescingWriteThroughput() throws Exception {
+		long oneByOneElapse = test(AvailablePortFinder.getNextAvailable(), 0);
+		long coalescingElapse = test(AvailablePortFinder.getNextAvailable(), 8192);
+		LOG.info("[CRAFT-ATOM-NIO] One by one write elapse={} ms, coalescing write elapse={} ms", oneByOneElapse, coalescingElapse);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio coalescing write throughput, one by one=%s ms, coalescing=%s ms. ", CaseCounter.incr(1), oneByOneElapse, coalescingElapse));
+	}
+
+	private long test(int port, int threshold) throws Exception {
+		BytesHandler handler = new BytesHandler(MSG_COUNT * MSG_SIZE);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(handler);
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {}).coalescingWriteThreshold(threshold).build();
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			long s = System.currentTimeMillis();
+			for (int i = 0; i < MSG_COUNT; i++) {
+				channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(handler.await(30, TimeUnit.SECONDS));
+			long e = System.currentTimeMillis();
+			return e - s;
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class BytesHandler extends AbstractIoHandler {
+
+		private final ByteArrayOutputStream out   = new ByteArrayOutputStream();
+		private final CountDownLatch        latch = new CountDownLatch(1)      ;
+		private final int                   total                              ;
+
+		BytesHandler(int total) {
+			this.total = total;
+		}
+
+		@Override
+		public synchronized void channelRead(Channel<byte[]> channel, byte[] bytes) {
+			out.write(bytes, 0, bytes.length);
+			if (out.size() >= total) {
+				latch.countDown();
+			}
+		}
+
+		boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+			return latch.await(timeout, unit);
+		}
+
+		synchronized byte[] bytes() {
+			return out.toByteArray();
+		}
+	}
+
+}
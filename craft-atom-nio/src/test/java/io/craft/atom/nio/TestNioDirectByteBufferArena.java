@@ -0,0 +1,90 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NioDirectByteBufferArena}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioDirectByteBufferArena {
+
+
+	@Test
+	public void testRecycle() {
+		NioDirectByteBufferArena arena = new NioDirectByteBufferArena(1 << 20);
+		ByteBuffer buf = arena.allocate(100);
+		Assert.assertTrue(buf.isDirect());
+		Assert.assertEquals(1024, buf.capacity());
+		Assert.assertEquals(100, buf.limit());
+		Assert.assertEquals(1024, arena.used());
+		arena.release(buf);
+		Assert.assertEquals(0, arena.used());
+		Assert.assertSame(buf, arena.allocate(1000));
+		Assert.assertEquals(1024, arena.allocated());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio direct byte buffer arena recycle. ", CaseCounter.incr(7)));
+	}
+
+	@Test
+	public void testBudget() {
+		NioDirectByteBufferArena arena = new NioDirectByteBufferArena(4096);
+		ByteBuffer b1 = arena.allocate(2048);
+		ByteBuffer b2 = arena.allocate(2048);
+		Assert.assertNotNull(b1);
+		Assert.assertNotNull(b2);
+		Assert.assertNull(arena.allocate(1024));
+		Assert.assertNull(arena.allocate(8192));
+		Assert.assertEquals(2, arena.fallbackCount());
+
+		// free buffers are never evicted, smaller allocation borrows a free buffer of larger size class.
+		arena.release(b1);
+		arena.release(b2);
+		Assert.assertNull(arena.allocate(4096));
+		ByteBuffer b3 = arena.allocate(1024);
+		Assert.assertNotNull(b3);
+		Assert.assertEquals(2048, b3.capacity());
+		Assert.assertEquals(1024, b3.limit());
+		Assert.assertEquals(4096, arena.allocated());
+		Assert.assertEquals(3, arena.fallbackCount());
+		arena.release(b3);
+		Assert.assertEquals(0, arena.used());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio direct byte buffer arena budget. ", CaseCounter.incr(7)));
+	}
+
+	@Test
+	public void testEcho() throws Exception {
+		NioConnectorHandler handler = new NioConnectorHandler();
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(handler).directBuffer(true).build();
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(new NioAcceptorHandler()).directBuffer(true).directMemoryBudget(1 << 20).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200000 - 1; i++) {
+			sb.append("1");
+		}
+		String msg = sb.append("\n").toString();
+		Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+		synchronized (channel) {
+			channel.write(msg.getBytes());
+			channel.wait();
+		}
+		acceptor.shutdown();
+		connector.shutdown();
+		Assert.assertEquals(msg, handler.getRcv());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio direct buffer echo. ", CaseCounter.incr(1)));
+	}
+
+}
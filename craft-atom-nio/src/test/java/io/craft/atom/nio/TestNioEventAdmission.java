@@ -0,0 +1,84 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for total event admission of channel event dispatcher.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioEventAdmission {
+
+
+	private static final Logger LOG      = LoggerFactory.getLogger(TestNioEventAdmission.class);
+	private static final int    CHANNELS = 8                                                  ;
+	private static final int    MSG_SIZE = 64 * 1024                                          ;
+
+
+	@Test
+	public void testThrottle() throws Exception {
+		final long total = (long) CHANNELS * MSG_SIZE;
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+		AbstractIoHandler handler = new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		};
+
+		int port = AvailablePortFinder.getNextAvailable();
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(handler).dispatcher(new NioOrderedThreadPoolChannelEventDispatcher(4, 2)).build();
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnector(new NioConnectorHandler());
+		try {
+			for (int i = 0; i < CHANNELS; i++) {
+				Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+				channel.write(new byte[MSG_SIZE]);
+			}
+
+			// io process thread never blocks on total event size, all the data is read after throttled channels are resumed.
+			Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+
+			// throttled channels are resumed by io process thread after the last events are done, wait for it.
+			NioAcceptorX x = (NioAcceptorX) acceptor.x();
+			for (long deadline = System.currentTimeMillis() + 5000; x.getThrottledChannelCount() > 0 && System.currentTimeMillis() < deadline; ) {
+				Thread.sleep(10);
+				x = (NioAcceptorX) acceptor.x();
+			}
+			LOG.debug("[CRAFT-ATOM-NIO] Event admission |throttleCount={}, overBudgetEventCount={}, throttledChannelCount={}|", x.getThrottleCount(), x.getOverBudgetEventCount(), x.getThrottledChannelCount());
+			Assert.assertTrue(x.getThrottleCount() > 0);
+			Assert.assertTrue(x.getOverBudgetEventCount() >= x.getThrottleCount());
+			Assert.assertEquals(0, x.getThrottledChannelCount());
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio event admission throttle. ", CaseCounter.incr(4)));
+	}
+
+}
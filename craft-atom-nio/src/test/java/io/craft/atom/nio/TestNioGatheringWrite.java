@@ -0,0 +1,167 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for gathering write, compare write calls and throughput of many small messages with gathering write and one by one write.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioGatheringWrite {
+
+
+	private static final Logger LOG       = LoggerFactory.getLogger(TestNioGatheringWrite.class);
+	private static final int    MSG_SIZE  = 100                                                   ;
+	private static final int    MSG_COUNT = 50000                                                 ;
+
+
+	@Test
+	public void testGatheringWrite() throws Exception {
+		long[] oneByOne = test(AvailablePortFinder.getNextAvailable(), 0);
+		long[] gathering = test(AvailablePortFinder.getNextAvailable(), 64);
+		LOG.info("[CRAFT-ATOM-NIO] One by one write |writes={}, elapse={} ms|, gathering write |writes={}, elapse={} ms|", oneByOne[0], oneByOne[1], gathering[0], gathering[1]);
+		
+		// a gathering write sends up to 64 queued buffers, so the write calls are much less than one by one.
+		Assert.assertTrue(gathering[0] * 2 < oneByOne[0]);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio gathering write, |one by one writes=%s, gathering writes=%s|. ", CaseCounter.incr(1), oneByOne[0], gathering[0]));
+	}
+	
+	@Test
+	public void testPartialWrite() throws Exception {
+		final int size = 1000;
+		final int count = 16000;
+		final long total = (long) size * count;
+		final AtomicLong received = new AtomicLong();
+		final AtomicLong corrupted = new AtomicLong();
+		final CountDownLatch paused = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(1);
+		final Channel<?>[] peer = new Channel<?>[1];
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (peer[0] == null) {
+					peer[0] = channel;
+					channel.pause();
+					paused.countDown();
+				}
+				
+				// each byte of message i is (byte) i, a buffer resumed at wrong position breaks the sequence.
+				long offset = received.get();
+				for (int i = 0; i < bytes.length; i++) {
+					if (bytes[i] != (byte) ((offset + i) / size)) corrupted.incrementAndGet();
+				}
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		});
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {}).gatheringWriteSize(64).build();
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			for (int i = 0; i < count; i++) {
+				byte[] bytes = new byte[size];
+				Arrays.fill(bytes, (byte) i);
+				channel.write(bytes);
+			}
+			Assert.assertTrue(paused.await(10, TimeUnit.SECONDS));
+			
+			// the peer is paused and kernel buffers are full, gathering writes end in the middle of buffers.
+			Thread.sleep(200);
+			Assert.assertTrue(received.get() < total);
+			Assert.assertFalse(channel.getWriteQueue().isEmpty());
+			
+			peer[0].resume();
+			Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+			Assert.assertEquals(total, received.get());
+			Assert.assertEquals(0, corrupted.get());
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio gathering partial write. ", CaseCounter.incr(4)));
+	}
+
+	/**
+	 * @return write calls of the connector processors and elapse in milliseconds.
+	 */
+	private long[] test(int port, int gatheringWriteSize) throws Exception {
+		CountHandler handler = new CountHandler((long) MSG_COUNT * MSG_SIZE);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(handler);
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {}).gatheringWriteSize(gatheringWriteSize).build();
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			long w = writeCount(connector);
+			long s = System.currentTimeMillis();
+			for (int i = 0; i < MSG_COUNT; i++) {
+				channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(handler.await(30, TimeUnit.SECONDS));
+			long e = System.currentTimeMillis();
+			Assert.assertEquals((long) MSG_COUNT * MSG_SIZE, handler.getCount());
+			return new long[] { writeCount(connector) - w, e - s };
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+	}
+	
+	private long writeCount(NioConnector connector) {
+		long count = 0;
+		for (NioProcessor processor : connector.pool.getPool()) {
+			count += ((NioProcessorX) processor.x()).getWriteCount();
+		}
+		return count;
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class CountHandler extends AbstractIoHandler {
+
+		private final AtomicLong     count = new AtomicLong()    ;
+		private final CountDownLatch latch = new CountDownLatch(1);
+		private final long           total                       ;
+
+		CountHandler(long total) {
+			this.total = total;
+		}
+
+		@Override
+		public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+			if (count.addAndGet(bytes.length) >= total) {
+				latch.countDown();
+			}
+		}
+
+		boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+			return latch.await(timeout, unit);
+		}
+
+		long getCount() {
+			return count.get();
+		}
+	}
+
+}
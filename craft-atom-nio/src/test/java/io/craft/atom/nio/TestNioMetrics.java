@@ -0,0 +1,98 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptorX;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for processor metrics.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioMetrics {
+
+
+	private static final Logger LOG      = LoggerFactory.getLogger(TestNioMetrics.class);
+	private static final int    MSG_SIZE = 1024                                          ;
+	private static final int    ROUNDS   = 1000                                          ;
+
+
+	@Test
+	public void testMetrics() throws Exception {
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (received.addAndGet(bytes.length) >= (long) MSG_SIZE * ROUNDS) {
+					done.countDown();
+				}
+			}
+		}).processorPoolSize(1).metrics(true).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new NioConnectorHandler());
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			for (int i = 0; i < ROUNDS; i++) {
+				channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+
+			// heavy hitters are updated about every second.
+			Thread.sleep(1500);
+			NioProcessorX px = (NioProcessorX) acceptor.pool.getPool()[0].x();
+			NioMetrics metrics = px.getMetrics();
+			Assert.assertNotNull(metrics);
+			Assert.assertEquals((long) MSG_SIZE * ROUNDS, metrics.getReadBytes());
+			Assert.assertTrue(metrics.getDispatchedEvents() > 0);
+			Assert.assertEquals(metrics.getDispatchedEvents(), metrics.getHandlerTime().count());
+			Assert.assertTrue(metrics.getLoopTime().count() > 0);
+			Assert.assertEquals(1, px.heavyHitters().size());
+
+			IoAcceptorX ax = acceptor.x();
+			Map<String, Long> map = ax.metrics();
+			LOG.debug("[CRAFT-ATOM-NIO] Metrics |acceptor={}, heavyHitters={}|", map, px.heavyHitters());
+			Assert.assertEquals((long) MSG_SIZE * ROUNDS, map.get("readBytes").longValue());
+			Assert.assertTrue(map.containsKey("queueWaitTime.p99"));
+			Assert.assertTrue(map.containsKey("handlerTime.p999"));
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio metrics. ", CaseCounter.incr(9)));
+	}
+
+	@Test
+	public void testMetricsOff() throws Exception {
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptor(new NioAcceptorHandler());
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		try {
+			NioProcessorX px = (NioProcessorX) acceptor.pool.getPool()[0].x();
+			Assert.assertNull(px.getMetrics());
+			Assert.assertTrue(px.metrics().isEmpty());
+			Assert.assertTrue(px.heavyHitters().isEmpty());
+			Assert.assertTrue(acceptor.x().metrics().isEmpty());
+		} finally {
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio metrics off. ", CaseCounter.incr(4)));
+	}
+
+}
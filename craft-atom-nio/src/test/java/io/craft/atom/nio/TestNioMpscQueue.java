@@ -0,0 +1,86 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.test.CaseCounter;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NioMpscQueue}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioMpscQueue {
+
+
+	@Test
+	public void testOfferPoll() {
+		NioMpscQueue<Integer> q = new NioMpscQueue<Integer>();
+		Assert.assertTrue(q.isEmpty());
+		Assert.assertNull(q.poll());
+		Assert.assertNull(q.peek());
+		q.add(1);
+		q.add(2);
+		q.add(3);
+		Assert.assertEquals(3, q.size());
+		Iterator<Integer> it = q.iterator();
+		Assert.assertEquals(1, it.next().intValue());
+		Assert.assertEquals(2, it.next().intValue());
+		Assert.assertEquals(1, q.peek().intValue());
+		Assert.assertEquals(1, q.remove().intValue());
+		Assert.assertEquals(3, it.next().intValue());
+		Assert.assertFalse(it.hasNext());
+		Assert.assertEquals(2, q.poll().intValue());
+		Assert.assertEquals(3, q.poll().intValue());
+		Assert.assertTrue(q.isEmpty());
+		Assert.assertEquals(0, q.size());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio mpsc queue offer & poll. ", CaseCounter.incr(17)));
+	}
+
+	@Test
+	public void testMultiProducer() throws Exception {
+		final int producers = 8;
+		final int count = 100000;
+		final NioMpscQueue<Integer> q = new NioMpscQueue<Integer>();
+		final CountDownLatch latch = new CountDownLatch(producers);
+		for (int i = 0; i < producers; i++) {
+			final int p = i;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < count; j++) {
+						q.offer(p * count + j);
+					}
+					latch.countDown();
+				}
+			}).start();
+		}
+
+		// per producer order must be kept
+		int[] last = new int[producers];
+		for (int i = 0; i < producers; i++) {
+			last[i] = -1;
+		}
+		int polled = 0;
+		while (polled < producers * count) {
+			Integer e = q.poll();
+			if (e == null) {
+				continue;
+			}
+			int p = e / count;
+			int seq = e % count;
+			Assert.assertTrue(seq > last[p]);
+			last[p] = seq;
+			polled++;
+		}
+		latch.await();
+		Assert.assertTrue(q.isEmpty());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio mpsc queue multi producer. ", CaseCounter.incr(1)));
+	}
+
+}
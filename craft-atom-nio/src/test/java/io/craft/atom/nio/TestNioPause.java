@@ -0,0 +1,105 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for read interest suspension of paused channel.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioPause {
+
+
+	private static final Logger LOG      = LoggerFactory.getLogger(TestNioPause.class);
+	private static final int    MSG_SIZE = 64 * 1024                                  ;
+	private static final int    MSG_NUM  = 256                                        ;
+
+
+	@Test
+	public void testPauseAndResume() throws Exception {
+		final long total = (long) MSG_SIZE * MSG_NUM;
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch paused = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(1);
+		final Channel<?>[] peer = new Channel<?>[1];
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptor(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (peer[0] == null) {
+					peer[0] = channel;
+					channel.pause();
+					paused.countDown();
+				}
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		});
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new AbstractIoHandler() {});
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			for (int i = 0; i < MSG_NUM; i++) {
+				channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(paused.await(10, TimeUnit.SECONDS));
+
+			// a paused channel is not selected for read, so the processor does not spin and the peer is throttled.
+			// the writer waits for writable with data pending, its processor does not spin on write either.
+			Thread.sleep(100);
+			long r0 = received.get();
+			long s0 = selectCount(acceptor.pool);
+			long w0 = writeCount(connector.pool);
+			Thread.sleep(500);
+			long r1 = received.get();
+			long s1 = selectCount(acceptor.pool);
+			long w1 = writeCount(connector.pool);
+			LOG.debug("[CRAFT-ATOM-NIO] Paused |received={}, selects={}, writer writes={}|", r1, s1 - s0, w1 - w0);
+			Assert.assertEquals(r0, r1);
+			Assert.assertTrue(r1 < total);
+			Assert.assertTrue(s1 - s0 < 100);
+			Assert.assertFalse(channel.getWriteQueue().isEmpty());
+			Assert.assertTrue(w1 - w0 < 100);
+
+			peer[0].resume();
+			Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio pause and resume. ", CaseCounter.incr(4)));
+	}
+
+	private long writeCount(NioProcessorPool pool) {
+		long count = 0;
+		for (NioProcessor processor : pool.getPool()) {
+			count += ((NioProcessorX) processor.x()).getWriteCount();
+		}
+		return count;
+	}
+
+	private long selectCount(NioProcessorPool pool) {
+		long count = 0;
+		for (NioProcessor processor : pool.getPool()) {
+			count += ((NioProcessorX) processor.x()).getSelectCount();
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,119 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.nio.spi.NioProcessorSelectionStrategy;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for processor selection strategy and channel migration.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioProcessorSelection {
+
+
+	private static final Logger LOG      = LoggerFactory.getLogger(TestNioProcessorSelection.class);
+	private static final int    MSG_SIZE = 64 * 1024                                               ;
+
+
+	@Test
+	public void testLeastChannels() throws Exception {
+		final CountDownLatch opened = new CountDownLatch(8);
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelOpened(Channel<byte[]> channel) {
+				opened.countDown();
+			}
+		}).processorPoolSize(4).selectionStrategy(new NioLeastChannelsProcessorSelectionStrategy()).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new NioConnectorHandler());
+		try {
+			for (int i = 0; i < 8; i++) {
+				connector.connect("127.0.0.1", port).get();
+			}
+			Assert.assertTrue(opened.await(10, TimeUnit.SECONDS));
+			for (NioProcessor processor : acceptor.pool.getPool()) {
+				Assert.assertEquals(2, processor.channelCount());
+			}
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio least channels processor selection. ", CaseCounter.incr(4)));
+	}
+
+	@Test
+	public void testMigration() throws Exception {
+		final int  channels = 2;
+		final int  rounds   = 512;
+		final long total    = (long) channels * rounds * MSG_SIZE;
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+
+		// all the channels are assigned to the first processor, so it is hot and the other is idle.
+		NioProcessorSelectionStrategy first = new NioProcessorSelectionStrategy() {
+			@Override
+			public NioProcessor select(NioProcessor[] processors, NioByteChannel channel) {
+				return processors[0];
+			}
+		};
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		}).processorPoolSize(2).selectionStrategy(first).channelMigration(true).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new NioConnectorHandler());
+		try {
+			List<Channel<byte[]>> list = new ArrayList<Channel<byte[]>>();
+			for (int i = 0; i < channels; i++) {
+				list.add(connector.connect("127.0.0.1", port).get());
+			}
+
+			long s = System.currentTimeMillis();
+			// keep the traffic for a few seconds, so the processor balances at least once.
+			for (int i = 0; i < rounds; i++) {
+				for (Channel<byte[]> channel : list) {
+					channel.write(new byte[MSG_SIZE]);
+				}
+				Thread.sleep(5);
+			}
+			Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+			long elapse = System.currentTimeMillis() - s;
+
+			NioProcessor[] processors = acceptor.pool.getPool();
+			long migrations = ((NioProcessorX) processors[0].x()).getMigrationCount();
+			LOG.debug("[CRAFT-ATOM-NIO] Migration |received={}, elapse={}ms, migrations={}, channels={}/{}|", received.get(), elapse, migrations, processors[0].channelCount(), processors[1].channelCount());
+			Assert.assertEquals(total, received.get());
+			Assert.assertEquals(channels, processors[0].channelCount() + processors[1].channelCount());
+			Assert.assertTrue(migrations > 0);
+			Assert.assertEquals(1, processors[1].channelCount());
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio channel migration. ", CaseCounter.incr(4)));
+	}
+
+}
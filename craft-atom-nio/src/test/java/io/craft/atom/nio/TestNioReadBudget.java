@@ -0,0 +1,84 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.nio.spi.NioBufferSizePredictor;
+import io.craft.atom.nio.spi.NioBufferSizePredictorFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for read budget, compare reads per select and loop latency of the receiver with different budgets.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioReadBudget {
+
+
+	private static final Logger LOG       = LoggerFactory.getLogger(TestNioReadBudget.class);
+	private static final int    MSG_SIZE  = 65536                                           ;
+	private static final int    MSG_COUNT = 500                                             ;
+	private static final int    BUF_SIZE  = 4096                                            ;
+
+
+	@Test
+	public void testReadBudget() throws Exception {
+		NioProcessorX x1 = test(AvailablePortFinder.getNextAvailable(), 1);
+		NioProcessorX x16 = test(AvailablePortFinder.getNextAvailable(), 16);
+		Assert.assertTrue(x1.getReadsPerSelect() <= 1.0);
+		
+		// a larger budget keeps reading a busy channel in one select, but never beyond the budget.
+		Assert.assertTrue(x16.getReadsPerSelect() > 1.0);
+		Assert.assertTrue(x16.getReadsPerSelect() <= 16.0);
+		LOG.info("[CRAFT-ATOM-NIO] Read budget 1  |reads/select={}, avg-loop={} ns, max-loop={} ns|", x1.getReadsPerSelect(), x1.getAvgLoopTimeInNanos(), x1.getMaxLoopTimeInNanos());
+		LOG.info("[CRAFT-ATOM-NIO] Read budget 16 |reads/select={}, avg-loop={} ns, max-loop={} ns|", x16.getReadsPerSelect(), x16.getAvgLoopTimeInNanos(), x16.getMaxLoopTimeInNanos());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio read budget, reads/select budget 1=%.2f, budget 16=%.2f. ", CaseCounter.incr(1), x1.getReadsPerSelect(), x16.getReadsPerSelect()));
+	}
+
+	private NioProcessorX test(int port, int maxReadsPerSelect) throws Exception {
+		final long total = (long) MSG_COUNT * MSG_SIZE;
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		}).processorPoolSize(1).maxReadsPerSelect(maxReadsPerSelect).predictorFactory(new NioBufferSizePredictorFactory() {
+			@Override
+			public NioBufferSizePredictor newPredictor(int minimum, int initial, int maximum) {
+				// a fixed small buffer is filled up by each read while data is backlogged, so reads are bounded by the budget only.
+				return new NioAdaptiveBufferSizePredictor(BUF_SIZE, BUF_SIZE, BUF_SIZE);
+			}
+		}).build();
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnector(new AbstractIoHandler() {});
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			for (int i = 0; i < MSG_COUNT; i++) {
+				channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+			return (NioProcessorX) acceptor.pool.getPool()[0].x();
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+	}
+
+}
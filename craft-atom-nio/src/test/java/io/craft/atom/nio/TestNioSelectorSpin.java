@@ -0,0 +1,88 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for selector spin detection of processor.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioSelectorSpin {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestNioSelectorSpin.class);
+
+
+	@Test
+	public void testIdleTcp() throws Exception {
+		NioAcceptor acceptor = (NioAcceptor) NioFactory.newTcpAcceptor(new NioAcceptorHandler());
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new NioConnectorHandler());
+		try {
+			for (int i = 0; i < 8; i++) {
+				connector.connect("127.0.0.1", port).get();
+			}
+
+			// idle channels never wakeup the selector prematurely, so it is not rebuilt.
+			Thread.sleep(1500);
+			for (NioProcessor processor : acceptor.pool.getPool()) {
+				NioProcessorX x = (NioProcessorX) processor.x();
+				LOG.debug("[CRAFT-ATOM-NIO] Idle tcp |selectCount={}, prematureSelectCount={}, selectorRebuildCount={}|", x.getSelectCount(), x.getPrematureSelectCount(), x.getSelectorRebuildCount());
+				Assert.assertEquals(0, x.getSelectorRebuildCount());
+			}
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio selector spin of idle tcp. ", CaseCounter.incr(1)));
+	}
+
+	@Test
+	public void testUdp() throws Exception {
+		final int n = 64;
+		final CountDownLatch latch = new CountDownLatch(n);
+		NioAcceptor acceptor = new NioUdpAcceptor(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				latch.countDown();
+			}
+		});
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		DatagramSocket socket = new DatagramSocket();
+		try {
+			// udp channel is not a socket channel, processor must not cast its key to socket channel.
+			for (int i = 0; i < n; i++) {
+				socket.send(new DatagramPacket(new byte[16], 16, new InetSocketAddress("127.0.0.1", port)));
+				Thread.sleep(1);
+			}
+			Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+			for (NioProcessor processor : acceptor.pool.getPool()) {
+				Assert.assertEquals(0, ((NioProcessorX) processor.x()).getSelectorRebuildCount());
+			}
+		} finally {
+			socket.close();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio selector spin of udp. ", CaseCounter.incr(1)));
+	}
+
+}
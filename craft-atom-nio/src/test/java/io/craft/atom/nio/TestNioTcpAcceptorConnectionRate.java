@@ -0,0 +1,122 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection rate benchmark for {@link NioTcpAcceptor} with different acceptor threads and accept batch size.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioTcpAcceptorConnectionRate {
+
+
+	private static final Logger LOG         = LoggerFactory.getLogger(TestNioTcpAcceptorConnectionRate.class);
+	private static final int    CLIENTS     = 8                                                             ;
+	private static final int    CONNECTIONS = 500                                                           ;
+
+
+	@Test
+	public void testConnectionRate() throws Exception {
+		int[] sizes = new int[] { 1, 4 };
+		for (int size : sizes) {
+			long elapse = test(size, 64);
+			LOG.debug("[CRAFT-ATOM-NIO] Connection rate |acceptorSize={}, connections={}, elapse={}ms, rate={}/s|", size, CLIENTS * CONNECTIONS, elapse, (CLIENTS * CONNECTIONS * 1000L) / Math.max(1, elapse));
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio tcp acceptor connection rate. ", CaseCounter.incr(2)));
+	}
+	
+	@Test
+	public void testAcceptBatch() throws Exception {
+		int[] sizes = new int[] { 1, 64 };
+		for (int size : sizes) {
+			long elapse = test(1, size);
+			LOG.debug("[CRAFT-ATOM-NIO] Accept batch |acceptBatchSize={}, connections={}, elapse={}ms, rate={}/s|", size, CLIENTS * CONNECTIONS, elapse, (CLIENTS * CONNECTIONS * 1000L) / Math.max(1, elapse));
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio tcp acceptor accept batch. ", CaseCounter.incr(2)));
+	}
+	
+	@Test
+	public void testSocketOptionTemplate() throws Exception {
+		final Socket[] accepted = new Socket[1];
+		final CountDownLatch opened = new CountDownLatch(1);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelOpened(Channel<byte[]> channel) {
+				accepted[0] = ((SocketChannel) ((NioByteChannel) channel).innerChannel()).socket();
+				opened.countDown();
+			}
+		}).tcpNoDelay(true).keepAlive(true).build();
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		Socket socket = new Socket("127.0.0.1", port);
+		try {
+			Assert.assertTrue(opened.await(10, TimeUnit.SECONDS));
+			Assert.assertTrue(accepted[0].getTcpNoDelay());
+			Assert.assertTrue(accepted[0].getKeepAlive());
+		} finally {
+			socket.close();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio tcp acceptor socket option template. ", CaseCounter.incr(1)));
+	}
+
+	private long test(int acceptorSize, int acceptBatchSize) throws Exception {
+		final int total = CLIENTS * CONNECTIONS;
+		final AtomicInteger opened = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(1);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(new AbstractIoHandler() {
+			@Override
+			public void channelOpened(Channel<byte[]> channel) {
+				if (opened.incrementAndGet() == total) {
+					done.countDown();
+				}
+			}
+		}).acceptorSize(acceptorSize).acceptBatchSize(acceptBatchSize).backlog(1024).build();
+		final int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+
+		try {
+			long s = System.currentTimeMillis();
+			for (int i = 0; i < CLIENTS; i++) {
+				new Thread(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < CONNECTIONS; j++) {
+							Socket socket = new Socket();
+							try {
+								socket.connect(new InetSocketAddress("127.0.0.1", port));
+								socket.close();
+							} catch (Exception e) {
+								LOG.warn("[CRAFT-ATOM-NIO] Connect exception", e);
+							}
+						}
+					}
+				}).start();
+			}
+			Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+			return System.currentTimeMillis() - s;
+		} finally {
+			acceptor.shutdown();
+		}
+	}
+
+}
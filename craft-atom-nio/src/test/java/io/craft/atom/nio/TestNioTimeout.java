@@ -3,11 +3,15 @@ package io.craft.atom.nio;
 import io.craft.atom.io.AbstractIoHandler;
 import io.craft.atom.io.Channel;
 import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.io.IoConnector;
 import io.craft.atom.io.IoHandler;
 import io.craft.atom.nio.api.NioFactory;
 import io.craft.atom.nio.api.NioTcpAcceptorBuilder;
 import io.craft.atom.test.AvailablePortFinder;
 import io.craft.atom.test.CaseCounter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
@@ -59,4 +63,38 @@ public class TestNioTimeout {
 		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test less one hundred milliseconds timeout. ", CaseCounter.incr(1)));
 	}
 	
+	@Test
+	public void testIdleDeadline() throws Exception {
+		final AtomicLong idleTime = new AtomicLong();
+		IoHandler handler = new AbstractIoHandler() {
+			@Override
+			public void channelIdle(Channel<byte[]> channel) {
+				idleTime.compareAndSet(0, System.currentTimeMillis());
+			}
+		};
+		int port = AvailablePortFinder.getNextAvailable();
+		IoAcceptor acceptor = NioFactory.newTcpAcceptorBuilder(handler).ioTimeoutInMillis(100).build();
+		acceptor.bind(port);
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new NioConnectorHandler()).build();
+		Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+		
+		// an active channel is never idle
+		for (int i = 0; i < 15; i++) {
+			channel.write("a".getBytes());
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(0, idleTime.get());
+		
+		// an idle channel is detected at its deadline instead of a whole timeout period later, the deadline is counted from the last write.
+		channel.write("a".getBytes());
+		long lastIoTime = System.currentTimeMillis();
+		Thread.sleep(300);
+		long elapse = idleTime.get() - lastIoTime;
+		connector.shutdown();
+		acceptor.shutdown();
+		Assert.assertTrue(elapse >= 80);
+		Assert.assertTrue(elapse < 180);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test idle deadline. ", CaseCounter.incr(3)));
+	}
+	
 }
@@ -0,0 +1,249 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.nio.api.NioAcceptorConfig;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for UDP peer channels, connected hot peers and reuse port datagram sockets.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioUdpAcceptor {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestNioUdpAcceptor.class);
+
+
+	@Test
+	public void testPeers() throws Exception {
+		final int peers = 4;
+		final Set<Channel<byte[]>> channels = Collections.newSetFromMap(new ConcurrentHashMap<Channel<byte[]>, Boolean>());
+		NioAcceptor acceptor = new NioUdpAcceptor(new EchoHandler(channels));
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		DatagramSocket[] sockets = new DatagramSocket[peers];
+		try {
+			for (int i = 0; i < peers; i++) {
+				sockets[i] = new DatagramSocket();
+				sockets[i].setSoTimeout(5000);
+			}
+
+			// each peer has its own channel, so replies are sent back to the right peer.
+			for (int round = 0; round < 4; round++) {
+				for (int i = 0; i < peers; i++) {
+					Assert.assertEquals(i, echo(sockets[i], port, i));
+				}
+			}
+			Assert.assertEquals(peers, channels.size());
+		} finally {
+			close(sockets);
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio udp peer channels. ", CaseCounter.incr(2)));
+	}
+
+	@Test
+	public void testConnectHotPeer() throws Exception {
+		final Set<Channel<byte[]>> channels = Collections.newSetFromMap(new ConcurrentHashMap<Channel<byte[]>, Boolean>());
+		NioAcceptorConfig config = new NioAcceptorConfig();
+		config.setUdpConnectThreshold(4);
+		NioAcceptor acceptor = new NioUdpAcceptor(new EchoHandler(channels), config);
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		DatagramSocket socket = new DatagramSocket();
+		socket.setSoTimeout(5000);
+		try {
+			// the peer is connected after its 4th datagram, the following datagrams are read from the connected socket.
+			for (int i = 0; i < 16; i++) {
+				Assert.assertEquals(i, echo(socket, port, i));
+			}
+			Assert.assertEquals(1, channels.size());
+			NioUdpByteChannel channel = (NioUdpByteChannel) channels.iterator().next();
+			Assert.assertTrue(channel.isPeer());
+			Assert.assertTrue(channel.isConnected());
+		} finally {
+			socket.close();
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio udp connect hot peer. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testChannelSizeLimit() throws Exception {
+		final Set<Channel<byte[]>> channels = Collections.newSetFromMap(new ConcurrentHashMap<Channel<byte[]>, Boolean>());
+		NioAcceptorConfig config = new NioAcceptorConfig();
+		config.setChannelSize(3);
+		NioAcceptor acceptor = new NioUdpAcceptor(new EchoHandler(channels), config);
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		DatagramSocket[] sockets = new DatagramSocket[3];
+		try {
+			for (int i = 0; i < sockets.length; i++) {
+				sockets[i] = new DatagramSocket();
+				sockets[i].setSoTimeout(500);
+			}
+
+			// the bound channel and 2 peer channels reach the channel size, datagrams of a new peer are dropped.
+			Assert.assertEquals(0, echo(sockets[0], port, 0));
+			Assert.assertEquals(1, echo(sockets[1], port, 1));
+			try {
+				echo(sockets[2], port, 2);
+				Assert.fail();
+			} catch (SocketTimeoutException e) {
+				Assert.assertTrue(true);
+			}
+			Assert.assertEquals(2, channels.size());
+			Assert.assertEquals(0, echo(sockets[0], port, 0));
+		} finally {
+			close(sockets);
+			acceptor.shutdown();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio udp channel size limit. ", CaseCounter.incr(4)));
+	}
+
+	@Test
+	public void testPeerSelectionKey() throws Exception {
+		DatagramChannel dc = DatagramChannel.open();
+		Selector s1 = Selector.open();
+		Selector s2 = Selector.open();
+		try {
+			dc.configureBlocking(false);
+			dc.socket().bind(new InetSocketAddress(0));
+			NioUdpByteChannel channel = new NioUdpByteChannel(dc, new NioAcceptorConfig(), new NioAdaptiveBufferSizePredictor(), new NioOrderedDirectChannelEventDispatcher());
+			channel.setSelectionKey(dc.register(s1, SelectionKey.OP_READ, channel));
+			NioUdpByteChannel peer = channel.newPeer(new InetSocketAddress("127.0.0.1", 9));
+			Assert.assertSame(channel.getSelectionKey(), peer.getSelectionKey());
+
+			// the selector is rebuilt, an unconnected peer follows the new key of its bound channel.
+			channel.getSelectionKey().cancel();
+			channel.setSelectionKey(dc.register(s2, SelectionKey.OP_READ, channel));
+			Assert.assertSame(channel.getSelectionKey(), peer.getSelectionKey());
+			Assert.assertTrue(peer.getSelectionKey().isValid());
+		} finally {
+			dc.close();
+			s1.close();
+			s2.close();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio udp peer selection key. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testReusePortRate() throws Exception {
+		long single = rate(1);
+		long multiple = rate(2);
+		LOG.debug("[CRAFT-ATOM-NIO] Udp receive rate |single={}/s, reusePort={}/s|", single, multiple);
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio udp reuse port receive rate, |single=%s/s, reusePort=%s/s|. ", CaseCounter.incr(1), single, multiple));
+	}
+
+	private long rate(int acceptorSize) throws Exception {
+		final int peers = 8;
+		final int datagrams = 1000;
+		final int window = 64;
+		final AtomicInteger received = new AtomicInteger();
+		NioAcceptorConfig config = new NioAcceptorConfig();
+		config.setAcceptorSize(acceptorSize);
+		config.setProcessorPoolSize(acceptorSize);
+		NioAcceptor acceptor = new NioUdpAcceptor(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				received.incrementAndGet();
+			}
+		}, config);
+		int port = AvailablePortFinder.getNextAvailable();
+		acceptor.bind(port);
+		DatagramSocket[] sockets = new DatagramSocket[peers];
+		try {
+			for (int i = 0; i < peers; i++) {
+				sockets[i] = new DatagramSocket();
+			}
+
+			// datagrams in flight are bounded by the window, so the socket buffer never overflows and none is dropped.
+			InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+			int sent = 0;
+			long s = System.nanoTime();
+			for (int i = 0; i < datagrams; i++) {
+				for (DatagramSocket socket : sockets) {
+					socket.send(new DatagramPacket(new byte[64], 64, address));
+					sent++;
+				}
+				Assert.assertTrue(await(received, sent - window, 5000));
+			}
+			Assert.assertTrue(await(received, sent, 5000));
+			long elapse = System.nanoTime() - s;
+			Assert.assertEquals(peers * datagrams, received.get());
+			return received.get() * TimeUnit.SECONDS.toNanos(1) / elapse;
+		} finally {
+			close(sockets);
+			acceptor.shutdown();
+		}
+	}
+
+	private boolean await(AtomicInteger received, int count, long timeoutInMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutInMillis;
+		while (received.get() < count) {
+			if (System.currentTimeMillis() > deadline) return false;
+			Thread.sleep(0, 100000);
+		}
+		return true;
+	}
+
+	private int echo(DatagramSocket socket, int port, int value) throws Exception {
+		socket.send(new DatagramPacket(new byte[] { (byte) value }, 1, new InetSocketAddress("127.0.0.1", port)));
+		DatagramPacket packet = new DatagramPacket(new byte[16], 16);
+		socket.receive(packet);
+		Assert.assertEquals(port, packet.getPort());
+		return packet.getData()[0];
+	}
+
+	private void close(DatagramSocket[] sockets) {
+		for (DatagramSocket socket : sockets) {
+			if (socket != null) {
+				socket.close();
+			}
+		}
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class EchoHandler extends AbstractIoHandler {
+
+		private final Set<Channel<byte[]>> channels;
+
+		EchoHandler(Set<Channel<byte[]>> channels) {
+			this.channels = channels;
+		}
+
+		@Override
+		public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+			channels.add(channel);
+			channel.write(bytes);
+		}
+
+	}
+
+}
@@ -0,0 +1,116 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoConnector;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Tests for write buffer water mark and write policy, the peer does not read until the channel becomes unwritable.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioWriteBackpressure {
+
+
+	private static final int LOW       = 64 * 1024 ;
+	private static final int HIGH      = 256 * 1024;
+	private static final int MSG_SIZE  = 1024      ;
+	private static final int MAX_COUNT = 1 << 20   ;
+
+
+	@Test
+	public void testWritabilityChanged() throws Exception {
+		WritabilityHandler handler = new WritabilityHandler();
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(handler).writeBufferWaterMark(LOW, HIGH).build();
+		ServerSocket server = new ServerSocket(AvailablePortFinder.getNextAvailable());
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", server.getLocalPort()).get();
+			Socket peer = server.accept();
+			for (int i = 0; i < MAX_COUNT && channel.isWritable(); i++) {
+				Assert.assertTrue(channel.write(new byte[MSG_SIZE]));
+			}
+			Assert.assertFalse(channel.isWritable());
+			Assert.assertTrue(handler.unwritable.await(5, TimeUnit.SECONDS));
+
+			// peer begins to read, channel drains below low water mark
+			drain(peer);
+			Assert.assertTrue(handler.writable.await(10, TimeUnit.SECONDS));
+			Assert.assertTrue(channel.isWritable());
+			peer.close();
+		} finally {
+			connector.shutdown();
+			server.close();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio write buffer water mark. ", CaseCounter.incr(4)));
+	}
+
+	@Test
+	public void testRejectPolicy() throws Exception {
+		IoConnector connector = NioFactory.newTcpConnectorBuilder(new AbstractIoHandler() {}).writeBufferWaterMark(LOW, HIGH).writePolicy(NioWritePolicy.REJECT).build();
+		ServerSocket server = new ServerSocket(AvailablePortFinder.getNextAvailable());
+		try {
+			Channel<byte[]> channel = connector.connect("127.0.0.1", server.getLocalPort()).get();
+			Socket peer = server.accept();
+			boolean rejected = false;
+			for (int i = 0; i < MAX_COUNT && !rejected; i++) {
+				rejected = !channel.write(new byte[MSG_SIZE]);
+			}
+			Assert.assertTrue(rejected);
+			Assert.assertTrue(((NioByteChannel) channel).getPendingWriteBytes() <= HIGH + MSG_SIZE);
+			peer.close();
+		} finally {
+			connector.shutdown();
+			server.close();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio write reject policy. ", CaseCounter.incr(2)));
+	}
+
+	private void drain(final Socket peer) {
+		new Thread(new Runnable() {
+			@Override
+			public void run() {
+				byte[] buf = new byte[8192];
+				try {
+					InputStream in = peer.getInputStream();
+					while (in.read(buf) >= 0);
+				} catch (Exception e) {
+					// peer closed
+				}
+			}
+		}).start();
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class WritabilityHandler extends AbstractIoHandler {
+
+		private final CountDownLatch unwritable = new CountDownLatch(1);
+		private final CountDownLatch writable   = new CountDownLatch(1);
+
+		@Override
+		public void channelWritabilityChanged(Channel<byte[]> channel) {
+			if (channel.isWritable()) {
+				writable.countDown();
+			} else {
+				unwritable.countDown();
+			}
+		}
+	}
+
+}
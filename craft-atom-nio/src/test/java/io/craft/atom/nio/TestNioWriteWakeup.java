@@ -0,0 +1,104 @@
+package io.craft.atom.nio;
+
+import io.craft.atom.io.AbstractIoHandler;
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IoAcceptor;
+import io.craft.atom.nio.api.NioFactory;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Micro benchmark for selector wakeup system calls per message when many threads write the same channel.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestNioWriteWakeup {
+
+
+	private static final Logger LOG       = LoggerFactory.getLogger(TestNioWriteWakeup.class);
+	private static final int    MSG_SIZE  = 64                                               ;
+	private static final int    MSG_COUNT = 20000                                            ;
+
+
+	@Test
+	public void testWakeupPerMessage() throws Exception {
+		int[] writers = new int[] { 1, 4, 16 };
+		for (int w : writers) {
+			test(AvailablePortFinder.getNextAvailable(), w);
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nio write wakeup per message. ", CaseCounter.incr(1)));
+	}
+
+	private void test(int port, int writers) throws Exception {
+		final long total = (long) writers * MSG_COUNT * MSG_SIZE;
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+		IoAcceptor acceptor = NioFactory.newTcpAcceptor(new AbstractIoHandler() {
+			@Override
+			public void channelRead(Channel<byte[]> channel, byte[] bytes) {
+				if (received.addAndGet(bytes.length) >= total) {
+					done.countDown();
+				}
+			}
+		});
+		acceptor.bind(port);
+		NioConnector connector = (NioConnector) NioFactory.newTcpConnector(new AbstractIoHandler() {});
+		try {
+			final Channel<byte[]> channel = connector.connect("127.0.0.1", port).get();
+			long before = wakeupCount(connector);
+			final CountDownLatch start = new CountDownLatch(1);
+			final CountDownLatch end = new CountDownLatch(writers);
+			for (int i = 0; i < writers; i++) {
+				new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							for (int j = 0; j < MSG_COUNT; j++) {
+								channel.write(new byte[MSG_SIZE]);
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							end.countDown();
+						}
+					}
+				}).start();
+			}
+
+			long s = System.currentTimeMillis();
+			start.countDown();
+			end.await();
+			Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+			long e = System.currentTimeMillis();
+			long wakeups = wakeupCount(connector) - before;
+			long messages = (long) writers * MSG_COUNT;
+			// writes racing a pending wakeup or a running loop do not wake the selector again, so a burst costs only a few wakeups.
+			Assert.assertTrue(wakeups * 10 < messages);
+			LOG.info("[CRAFT-ATOM-NIO] Write wakeup |writers={}, messages={}, wakeups={}, wakeups/message={}, elapse={} ms|", writers, messages, wakeups, (double) wakeups / messages, e - s);
+		} finally {
+			connector.shutdown();
+			acceptor.shutdown();
+		}
+	}
+
+	private long wakeupCount(NioConnector connector) {
+		long count = 0;
+		for (NioProcessor processor : connector.pool.getPool()) {
+			count += ((NioProcessorX) processor.x()).getWakeupCount();
+		}
+		return count;
+	}
+
+}
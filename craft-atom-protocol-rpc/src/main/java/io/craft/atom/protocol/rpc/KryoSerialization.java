@@ -6,10 +6,8 @@ import io.craft.atom.protocol.rpc.model.RpcMethod;
 import io.craft.atom.protocol.rpc.spi.Serialization;
 import io.craft.atom.util.Assert;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.lang.ref.SoftReference;
-
+import java.util.Arrays;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
@@ -19,6 +17,8 @@ import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
 /**
  * The implementor using <a href="https://github.com/EsotericSoftware/kryo">kryo</a>.
  * <p>
+ * Serialize writes into a thread local pooled output buffer and copies the result once, deserialize reads the byte array region in place.
+ * <p>
  * Not thread safe.
  * 
  * @author mindwind
@@ -41,6 +41,15 @@ public class KryoSerialization implements Serialization<RpcBody> {
         }
     };
     
+    // thread local pooled output, a buffer grown too large is not pooled.
+    private static final int                 MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<Output> OUTPUT                 = new ThreadLocal<Output>() {
+    	@Override
+    	protected Output initialValue() {
+    		return new Output(4096, -1);
+    	}
+    };
+    
     private static Kryo newKryo() {
     	Kryo kryo = new Kryo();
         kryo.register(RpcBody.class);
@@ -56,15 +65,23 @@ public class KryoSerialization implements Serialization<RpcBody> {
 
 	@Override
 	public byte[] serialize(RpcBody rb) {
+		return serialize(rb, 0);
+	}
+	
+	@Override
+	public byte[] serialize(RpcBody rb, int off) {
+		Output output = OUTPUT.get();
 		try {
 			Assert.notNull(rb);
-		    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		    Output output = new Output(baos);
+			output.clear();
+			if (output.getBuffer().length < off) { output.setBuffer(new byte[off << 1], -1); }
+			output.setPosition(off);
 		    kryo().writeObject(output, rb);
-		    output.close();
-		    return baos.toByteArray();
+		    return Arrays.copyOf(output.getBuffer(), output.position());
 		} catch (Exception e) {
 			throw new ProtocolException(e);
+		} finally {
+			if (output.getBuffer().length > MAX_POOLED_BUFFER_SIZE) { OUTPUT.remove(); }
 		}
 	}
 	
@@ -84,13 +101,16 @@ public class KryoSerialization implements Serialization<RpcBody> {
 
 	@Override
 	public RpcBody deserialize(byte[] bytes, int off) {
+		Assert.notNull(bytes);
+		return deserialize(bytes, off, bytes.length - off);
+	}
+	
+	@Override
+	public RpcBody deserialize(byte[] bytes, int off, int len) {
 		try {
 		    Assert.notNull(bytes);
-		    ByteArrayInputStream bais = new ByteArrayInputStream(bytes, off, bytes.length - off);
-		    Input input = new Input(bais);
-		    RpcBody rb = kryo().readObject(input, RpcBody.class);
-	        input.close();
-		    return rb;
+		    Input input = new Input(bytes, off, len);
+		    return kryo().readObject(input, RpcBody.class);
 		} catch (Exception e) {
 			throw new ProtocolException(e);
 		}
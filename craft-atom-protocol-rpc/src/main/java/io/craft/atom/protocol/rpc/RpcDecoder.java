@@ -19,6 +19,9 @@ import lombok.Getter;
 /**
  * A {@link ProtocolDecoder} which decodes bytes into {@code RpcMessage} object.
  * <p>
+ * If there is no partial message buffered, complete messages are decoded in place from the input bytes,
+ * only the trailing partial message is appended to the buffer. Bodies are deserialized in place either way.
+ * <p>
  * Not thread safe.
  * 
  * @author mindwind
@@ -61,7 +64,13 @@ public class RpcDecoder extends AbstractProtocolDecoder implements ProtocolDecod
 	public List<RpcMessage> decode(byte[] bytes) throws ProtocolException {
 		List<RpcMessage> msgs = new ArrayList<RpcMessage>();
 		adapt();
-		buf.append(bytes);
+		if (state == START && buf.length() == 0) {
+			int off = decodeInPlace(bytes, msgs);
+			if (off == bytes.length) return msgs;
+			buf.append(bytes, off, bytes.length - off);
+		} else {
+			buf.append(bytes);
+		}
 		
 		while (searchIndex < buf.length() || state == END) {
 			switch (state) {
@@ -83,6 +92,45 @@ public class RpcDecoder extends AbstractProtocolDecoder implements ProtocolDecod
 		return msgs;
 	}
 	
+	/**
+	 * Decodes complete messages from the bytes in place.
+	 * 
+	 * @return offset of the first incomplete message.
+	 */
+	private int decodeInPlace(byte[] bytes, List<RpcMessage> msgs) {
+		int off = 0;
+		while (bytes.length - off >= RpcHeader.HEADER_SIZE) {
+			if (RpcHeader.MAGIC_0 != bytes[off] || RpcHeader.MAGIC_1 != bytes[off + 1]) throw new ProtocolException("Invalid bytes format!");
+			int hs = ByteUtil.bytes2short(bytes, off + 2);
+			int bs = ByteUtil.bytes2int(bytes, off + 16);
+			if (hs < RpcHeader.HEADER_SIZE || bs < 0) throw new ProtocolException("Invalid bytes format!");
+			
+			// need more bytes
+			if (bytes.length - off < hs + bs) break;
+			
+			RpcHeader rh = new RpcHeader();
+			rh.setHeaderSize((short) hs);
+			rh.setVersion(bytes[off + 4]);
+			rh.setSt(bytes[off + 5]);
+			rh.setHb(bytes[off + 5]);
+			rh.setOw(bytes[off + 5]);
+			rh.setRp(bytes[off + 5]);
+			rh.setStatusCode(bytes[off + 6]);
+			rh.setReserved(bytes[off + 7]);
+			rh.setId(ByteUtil.bytes2long(bytes, off + 8));
+			rh.setBodySize(bs);
+			
+			Serialization<RpcBody> deserializer = registry.lookup(rh.getSt());
+			if (deserializer == null) throw new ProtocolException("No mapping `deserializer`!");
+			RpcMessage msg = new RpcMessage();
+			msg.setHeader(rh);
+			msg.setBody(deserializer.deserialize(bytes, off + hs, bs));
+			msgs.add(msg);
+			off += hs + bs;
+		}
+		return off;
+	}
+	
 	private void state4END(List<RpcMessage> msgs) {
 		msgs.add(rm);
 		splitIndex = searchIndex;
@@ -98,7 +146,7 @@ public class RpcDecoder extends AbstractProtocolDecoder implements ProtocolDecod
 		
 		Serialization<RpcBody> deserializer = registry.lookup(rm.getHeader().getSt());
 		if (deserializer == null) throw new ProtocolException("No mapping `deserializer`!");
-		RpcBody rb = deserializer.deserialize(buf.buffer(), 20 + splitIndex);
+		RpcBody rb = deserializer.deserialize(buf.buffer(), hs + splitIndex, bs);
 		rm.setBody(rb);
 		searchIndex = hs + bs + splitIndex;
 		state = END;
@@ -14,6 +14,9 @@ import io.craft.atom.util.ByteUtil;
 /**
  * A {@link ProtocolEncoder} which encodes a {@code RpcMessage} object into bytes follow the generic RPC format.
  * <p>
+ * The body is serialized straight behind the reserved header bytes, then the header is back-patched with the body size,
+ * so there is no intermediate body array to copy.
+ * <p>
  * thread safe.
  * 
  * @author mindwind
@@ -44,20 +47,13 @@ public class RpcEncoder implements ProtocolEncoder<RpcMessage> {
 		
 		Serialization<RpcBody> serializer = registry.lookup(rh.getSt());
 		if (serializer == null) throw new ProtocolException("No mapping `serializer`!");
-		byte[] body = encodeBody(rb, serializer);
-		
-		byte[] encoded = new byte[rh.getHeaderSize() + body.length];
-		rh.setBodySize(body.length);
+		byte[] encoded = serializer.serialize(rb, rh.getHeaderSize());
+		rh.setBodySize(encoded.length - rh.getHeaderSize());
 		
 		encodeHeader(encoded, rh);
-		System.arraycopy(body, 0, encoded, rh.getHeaderSize(), body.length);
 		return encoded;
 	}
 	
-	private byte[] encodeBody(RpcBody rb, Serialization<RpcBody> serializer) {
-		return serializer.serialize(rb);
-	}
-	
 	private void encodeHeader(byte[] b, RpcHeader rh) {
 		// magic
 		ByteUtil.short2bytes(rh.getMagic(), b, 0);
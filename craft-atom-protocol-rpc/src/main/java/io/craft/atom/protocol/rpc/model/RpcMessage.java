@@ -81,6 +81,17 @@ public class RpcMessage implements Serializable {
 		body.getRpcOption().setRpcTimeoutInMillis(rpcTimeoutInMillis);
 	}
 	
+	/**
+	 * @return absolute local deadline in milliseconds of this invocation, or <tt>0</tt> if not set.
+	 */
+	public long getDeadline() {
+		return body.getRpcOption().getDeadline();
+	}
+	
+	public void setDeadline(long deadline) {
+		body.getRpcOption().setDeadline(deadline);
+	}
+	
 	public void setServerAddress(InetSocketAddress serverAddress) {
 		body.getRpcOption().setServerAddress(serverAddress);
 	}
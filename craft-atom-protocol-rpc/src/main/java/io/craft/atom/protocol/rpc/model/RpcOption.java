@@ -9,6 +9,9 @@ import lombok.ToString;
 
 /**
  * A <code>RpcOption</code> provides optional information about rpc invocation.
+ * <p>
+ * The timeout is a relative budget on the wire, because clocks of client and server are not synchronized.
+ * The receiver converts it to an absolute local deadline when the message arrives, the deadline is never serialized.
  * 
  * @author mindwind
  * @version 1.0, Aug 8, 2014
@@ -22,6 +25,7 @@ public class RpcOption implements Serializable {
 	
 	@Getter @Setter transient private InetSocketAddress serverAddress                         ;
 	@Getter @Setter transient private InetSocketAddress clientAddress                         ;
+	@Getter @Setter transient private long              deadline                              ;
 	@Getter @Setter           private int               rpcTimeoutInMillis = Integer.MAX_VALUE;
 	
 	
@@ -23,6 +23,16 @@ public interface Serialization<T> {
 	 */
 	byte[] serialize(T object) throws ProtocolException;
 	
+	/**
+	 * Serialize object to bytes with <tt>off</tt> bytes reserved ahead, e.g. for protocol header which is back-patched by the caller,
+	 * so that the caller need not to copy serialized bytes to another array.
+	 * 
+	 * @param object
+	 * @param off    reserved bytes
+	 * @return bytes whose length is <tt>off</tt> plus serialized size, serialized bytes start at <tt>off</tt>.
+	 */
+	byte[] serialize(T object, int off) throws ProtocolException;
+	
 	/**
 	 * Deserialize object from bytes.
 	 * 
@@ -40,4 +50,14 @@ public interface Serialization<T> {
 	 */
 	T deserialize(byte[] bytes, int off) throws ProtocolException;
 	
+	/**
+	 * Deserialize object from the region of bytes, it reads the bytes in place without copy.
+	 * 
+	 * @param bytes byte array
+	 * @param off   offset
+	 * @param len   length of serialized bytes
+	 * @return deserialized object.
+	 */
+	T deserialize(byte[] bytes, int off, int len) throws ProtocolException;
+	
 }
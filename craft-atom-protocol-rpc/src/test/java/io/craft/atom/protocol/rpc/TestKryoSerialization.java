@@ -4,6 +4,7 @@ package io.craft.atom.protocol.rpc;
 import io.craft.atom.protocol.rpc.model.RpcBody;
 import io.craft.atom.protocol.rpc.model.RpcMethod;
 import io.craft.atom.test.CaseCounter;
+import io.craft.atom.util.ByteUtil;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -96,6 +97,23 @@ public class TestKryoSerialization {
 	}
 	
 	
+	@Test
+	public void testRegion() {
+		// serialize with reserved bytes ahead
+		byte[] plain = ks.serialize(rb);
+		byte[] bytes = ks.serialize(rb, 20);
+		Assert.assertEquals(plain.length + 20, bytes.length);
+		Assert.assertArrayEquals(plain, ByteUtil.split(bytes, 20, bytes.length));
+		
+		// deserialize the region in place, the trailing bytes are not read.
+		byte[] padded = new byte[bytes.length + 8];
+		System.arraycopy(bytes, 0, padded, 0, bytes.length);
+		RpcBody body = ks.deserialize(padded, 20, plain.length);
+		Assert.assertEquals(rb.getRpcMethod().getParameterTypes().length, body.getRpcMethod().getParameterTypes().length);
+		Assert.assertEquals(sa.getS(), ((SerialA) body.getRpcMethod().getParameters()[0]).getS());
+		System.out.format("[CRAFT-ATOM-PROTOCOL-RPC] (^_^)  <%s>  Case -> test kryo serialization region.\n", CaseCounter.incr(4));
+	}
+	
 	@Test
 	public void testCompatibility() throws Exception {
 		// model has more fields; comment SerialA.t1 and generate bytes
@@ -118,6 +118,47 @@ public class TestRpcCodec {
 		System.out.format("[CRAFT-ATOM-PROTOCOL-RPC] (^_^)  <%s>  Case -> test pipeline decode.\n", CaseCounter.incr(5));
 	}
 	
+	@Test
+	public void testInPlaceDecode() {
+		// complete messages are decoded in place, the trailing partial one is buffered.
+		byte[] bytes = encoder.encode(rm);
+		ByteArrayBuffer buf = new ByteArrayBuffer();
+		buf.append(bytes).append(bytes).append(bytes).append(bytes, 0, 10);
+		List<RpcMessage> l = decoder.decode(buf.array());
+		Assert.assertEquals(3, l.size());
+		for (RpcMessage m : l) {
+			Assert.assertEquals(rm, m);
+		}
+		l = decoder.decode(ByteUtil.split(bytes, 10, bytes.length));
+		Assert.assertEquals(1, l.size());
+		Assert.assertEquals(rm, l.get(0));
+		
+		// decoded in place again once the buffer is drained.
+		l = decoder.decode(bytes);
+		Assert.assertEquals(1, l.size());
+		Assert.assertEquals(rm, l.get(0));
+		System.out.format("[CRAFT-ATOM-PROTOCOL-RPC] (^_^)  <%s>  Case -> test in place decode.\n", CaseCounter.incr(7));
+	}
+	
+	@Test
+	public void testCodecPerformance() {
+		int n = 100000;
+		byte[] bytes = null;
+		long s = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			bytes = encoder.encode(rm);
+		}
+		long encodeElapse = System.nanoTime() - s;
+		
+		s = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			decoder.decode(bytes);
+		}
+		long decodeElapse = System.nanoTime() - s;
+		LOG.debug("[CRAFT-ATOM-PROTOCOL-RPC] Codec performance |n={}, encode={}ns/op, decode={}ns/op|", n, encodeElapse / n, decodeElapse / n);
+		System.out.format("[CRAFT-ATOM-PROTOCOL-RPC] (^_^)  <%s>  Case -> test codec performance.\n", CaseCounter.incr(1));
+	}
+	
 	@Test
 	public void testInvalidDecode() {
 		byte[] bytes = encoder.encode(rm);
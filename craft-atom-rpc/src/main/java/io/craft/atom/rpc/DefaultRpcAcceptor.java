@@ -17,6 +17,8 @@ import lombok.Setter;
 
 
 /**
+ * Responses are written by a {@link RpcBatchWriter} with the byte budget <tt>batchWriteBytes</tt>, set it to <tt>0</tt> to write each response separately.
+ * 
  * @author mindwind
  * @version 1.0, Aug 6, 2014
  */
@@ -25,6 +27,7 @@ public class DefaultRpcAcceptor implements RpcAcceptor {
 	
 	@Getter @Setter private int           ioTimeoutInMillis;
 	@Getter @Setter private int           connections      ;
+	@Getter @Setter private int           batchWriteBytes  ;
 	@Getter @Setter private SocketAddress address          ;
 	@Getter @Setter private RpcProcessor  processor        ;
 	@Getter @Setter private RpcProtocol   protocol         ;
@@ -35,7 +38,9 @@ public class DefaultRpcAcceptor implements RpcAcceptor {
 	// ~ ------------------------------------------------------------------------------------------------------------
 
 	
-	public DefaultRpcAcceptor() {}
+	public DefaultRpcAcceptor() {
+		batchWriteBytes = RpcBatchWriter.DEFAULT_BUDGET;
+	}
 	
 	
 	// ~ ------------------------------------------------------------------------------------------------------------
@@ -43,7 +48,7 @@ public class DefaultRpcAcceptor implements RpcAcceptor {
 
 	@Override
 	public void bind() throws IOException {
-		ioHandler  = new RpcServerIoHandler(protocol, processor);
+		ioHandler  = new RpcServerIoHandler(protocol, processor, batchWriteBytes);
 		ioAcceptor = NioFactory.newTcpAcceptorBuilder(ioHandler)
 							   .channelSize(connections)
 				               .ioTimeoutInMillis(ioTimeoutInMillis)
@@ -9,6 +9,7 @@ import io.craft.atom.rpc.spi.RpcChannel;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -32,6 +33,7 @@ public class DefaultRpcChannel implements RpcChannel {
 	@Getter @Setter private ProtocolDecoder<RpcMessage> decoder;
 	@Getter @Setter private Channel<byte[]>             channel;
 	@Getter @Setter private Map<Long, RpcFuture<?>>     futures;
+	@Getter         private RpcBatchWriter              writer ;
 	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
@@ -43,6 +45,16 @@ public class DefaultRpcChannel implements RpcChannel {
 		this.decoder = decoder;
 	}
 	
+	/**
+	 * @param batchWriteBytes byte budget of batched write, or <tt>0</tt> to write each message separately.
+	 */
+	DefaultRpcChannel(Channel<byte[]> channel, ProtocolEncoder<RpcMessage> encoder, ProtocolDecoder<RpcMessage> decoder, int batchWriteBytes) {
+		this(channel, encoder, decoder);
+		if (batchWriteBytes > 0) {
+			this.writer = new RpcBatchWriter(channel, batchWriteBytes);
+		}
+	}
+	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
 	
@@ -52,7 +64,26 @@ public class DefaultRpcChannel implements RpcChannel {
 		try {
 			byte[] bytes = encoder.encode(msg);
 			LOG.debug("[CRAFT-ATOM-RPC] Rpc channel write bytes, |length={}, bytes={}, channel={}|", bytes.length, bytes, channel);
-			channel.write(bytes);
+			if (writer != null) {
+				writer.write(bytes);
+			} else {
+				channel.write(bytes);
+			}
+		} catch (IllegalChannelStateException e) {
+			throw new RpcException(RpcException.NETWORK, "broken connection");
+		}
+	}
+	
+	@Override
+	public void writeAsync(RpcMessage msg) throws RpcException {
+		try {
+			byte[] bytes = encoder.encode(msg);
+			LOG.debug("[CRAFT-ATOM-RPC] Rpc channel write bytes async, |length={}, bytes={}, channel={}|", bytes.length, bytes, channel);
+			if (writer != null) {
+				writer.writeAsync(bytes);
+			} else {
+				channel.write(bytes);
+			}
 		} catch (IllegalChannelStateException e) {
 			throw new RpcException(RpcException.NETWORK, "broken connection");
 		}
@@ -81,6 +112,17 @@ public class DefaultRpcChannel implements RpcChannel {
 		futures.put(mid, future);
 	}
 	
+	void removeRpcFuture(long mid) {
+		futures.remove(mid);
+	}
+	
+	void expireRpcFuture(long mid) {
+		RpcFuture<?> future = futures.remove(mid);
+		if (future == null) return;
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc channel future timeout, |mid={}, channel={}|", mid, channel);
+		future.setException(new TimeoutException());
+	}
+	
 	void notifyRpcMessage(RpcMessage msg) {
 		RpcFuture<?> future = futures.remove(msg.getId());
 		if (future == null) return;
@@ -88,8 +130,10 @@ public class DefaultRpcChannel implements RpcChannel {
 	}
 	
 	void notifyRpcException(Exception e) {
-		for (RpcFuture<?> future : futures.values()) {
-			future.setException(e);
+		// failed futures are removed as well, their timeouts are cancelled on completion and never sweep them.
+		for (Long mid : futures.keySet()) {
+			RpcFuture<?> future = futures.remove(mid);
+			if (future != null) future.setException(e);
 		}
 	}
 	
@@ -69,6 +69,11 @@ public class DefaultRpcClient implements RpcClient {
 	public <T> T refer(Class<T> rpcInterface) {
 		return proxyFactory.getProxy(rpcInterface);
 	}
+	
+	@Override
+	public <T> T referAsync(Class<?> rpcInterface, Class<T> asyncInterface) {
+		return proxyFactory.getAsyncProxy(rpcInterface, asyncInterface);
+	}
 
 	@Override
 	public void open() throws RpcException {
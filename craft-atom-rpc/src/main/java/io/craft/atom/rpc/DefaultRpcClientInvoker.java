@@ -40,6 +40,25 @@ public class DefaultRpcClientInvoker extends AbstractRpcInvoker {
 	}
 	
 	private int rpcTimeoutInMillis(RpcContext ctx) {
+		int timeout = rpcTimeoutInMillis0(ctx);
+		
+		// Limit the timeout to remaining time of the deadline, the earlier one of this invocation and the processing request.
+		long deadline = earlier(ctx.getDeadline(), RpcDeadline.get());
+		if (deadline > 0) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) throw new RpcException(RpcException.CLIENT_TIMEOUT, "deadline exceeded");
+			if (remaining < timeout) timeout = (int) remaining;
+		}
+		return timeout;
+	}
+	
+	private long earlier(long d1, long d2) {
+		if (d1 <= 0) return d2;
+		if (d2 <= 0) return d1;
+		return Math.min(d1, d2);
+	}
+	
+	private int rpcTimeoutInMillis0(RpcContext ctx) {
 		// Get timeout with this invocation from RpcContext
 		int timeout = ctx.getRpcTimeoutInMillis();
 		if (timeout > 0) return timeout;
@@ -9,6 +9,9 @@ import io.craft.atom.rpc.api.RpcContext;
 import io.craft.atom.rpc.spi.RpcChannel;
 import io.craft.atom.rpc.spi.RpcConnector;
 import io.craft.atom.rpc.spi.RpcProtocol;
+import io.craft.atom.util.schedule.ExpirationListener;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel.Timeout;
 import io.craft.atom.util.thread.NamedThreadFactory;
 
 import java.io.IOException;
@@ -30,6 +33,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Asynchronous invocations are timed out by a timer shared by all the connections, 
+ * which fails the future and removes it from its channel, so an invocation whose response never comes does not leak.
+ * <p>
+ * Requests are written by a {@link RpcBatchWriter} with the byte budget <tt>batchWriteBytes</tt>, set it to <tt>0</tt> to write each request separately.
+ * 
  * @author mindwind
  * @version 1.0, Aug 15, 2014
  */
@@ -39,18 +47,20 @@ public class DefaultRpcConnector implements RpcConnector {
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultRpcConnector.class);
 	
 	
-	@Getter @Setter private int                          connectTimeoutInMillis;
-	@Getter @Setter private int                          rpcTimeoutInMillis    ;
-	@Getter         private int                          heartbeatInMillis     ;
-	@Getter @Setter private int                          reconnectDelay        ;
-	@Getter @Setter private boolean                      allowReconnect        ;
-	@Getter         private SocketAddress                address               ;
-	@Getter @Setter private Map<Long, DefaultRpcChannel> channels              ;
-	@Getter @Setter private IoHandler                    ioHandler             ;
-	@Getter @Setter private IoConnector                  ioConnector           ;
-	@Getter @Setter private ScheduledExecutorService     hbScheduler           ;
-	@Getter @Setter private ExecutorService              reconnectExecutor     ;
-	@Getter         private RpcProtocol                  protocol              ;            
+	@Getter @Setter private int                                 connectTimeoutInMillis;
+	@Getter @Setter private int                                 rpcTimeoutInMillis    ;
+	@Getter @Setter private int                                 batchWriteBytes       ;
+	@Getter         private int                                 heartbeatInMillis     ;
+	@Getter @Setter private int                                 reconnectDelay        ;
+	@Getter @Setter private boolean                             allowReconnect        ;
+	@Getter         private SocketAddress                       address               ;
+	@Getter @Setter private Map<Long, DefaultRpcChannel>        channels              ;
+	@Getter @Setter private IoHandler                           ioHandler             ;
+	@Getter @Setter private IoConnector                         ioConnector           ;
+	@Getter @Setter private ScheduledExecutorService            hbScheduler           ;
+	@Getter @Setter private ExecutorService                     reconnectExecutor     ;
+	@Getter         private RpcProtocol                         protocol              ;
+	                private HierarchicalTimingWheel<RpcTimeout> timer                 ;
 	
 	
 	// ~ ------------------------------------------------------------------------------------------------------------
@@ -62,6 +72,7 @@ public class DefaultRpcConnector implements RpcConnector {
 		connectTimeoutInMillis = Integer.MAX_VALUE;
 		rpcTimeoutInMillis     = Integer.MAX_VALUE;
 		heartbeatInMillis      = 0;
+		batchWriteBytes        = RpcBatchWriter.DEFAULT_BUDGET;
 		reconnectExecutor      = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("craft-atom-rpc-connector-reconnect"));
 		channels               = new ConcurrentHashMap<Long, DefaultRpcChannel>();
 		ioHandler              = new RpcClientIoHandler(this);
@@ -69,6 +80,14 @@ public class DefaultRpcConnector implements RpcConnector {
 						                   .connectTimeoutInMillis(connectTimeoutInMillis)
 						                   .dispatcher(new NioOrderedDirectChannelEventDispatcher())
 						                   .build();
+		timer                  = new HierarchicalTimingWheel<RpcTimeout>(10, 64, TimeUnit.MILLISECONDS);
+		timer.addExpirationListener(new ExpirationListener<RpcTimeout>() {
+			@Override
+			public void expired(RpcTimeout rt) {
+				rt.expire();
+			}
+		});
+		timer.start();
 	}
 	
 	
@@ -80,7 +99,7 @@ public class DefaultRpcConnector implements RpcConnector {
 		try {
 			Future<Channel<byte[]>> future = ioConnector.connect(address);
 			Channel<byte[]> channel = future.get(connectTimeoutInMillis, TimeUnit.MILLISECONDS);
-			DefaultRpcChannel rpcChannel = new DefaultRpcChannel(channel, protocol.getRpcEncoder(), protocol.getRpcDecoder());
+			DefaultRpcChannel rpcChannel = new DefaultRpcChannel(channel, protocol.getRpcEncoder(), protocol.getRpcDecoder(), batchWriteBytes);
 			rpcChannel.setFutures(new ConcurrentHashMap<Long, RpcFuture<?>>());
 			channel.setAttribute(RpcIoHandler.RPC_CHANNEL, rpcChannel);
 			long id = channel.getId();
@@ -112,6 +131,7 @@ public class DefaultRpcConnector implements RpcConnector {
 		channels.clear();
 		ioConnector.shutdown();
 		reconnectExecutor.shutdownNow();
+		timer.stop();
 		if (hbScheduler != null) { hbScheduler.shutdownNow(); }
 	}
 	
@@ -128,18 +148,30 @@ public class DefaultRpcConnector implements RpcConnector {
 				future = new DefaultRpcFuture<Object>();
 				channel.setRpcFuture(mid, future);
 			 }
-			channel.write(req);
+			try {
+				channel.write(req);
+			} catch (RpcException e) {
+				channel.removeRpcFuture(mid);
+				throw e;
+			}
 			
 			// One way request, client does not expect response
 			if (oneway) { return null; }
 			
 			if (async) {
 				// async and set future
+				timeout(channel, mid, future, req.getRpcTimeoutInMillis());
 				RpcContext.getContext().setFuture(future);
 				return null;
 			} else {
 				// sync and wait response
-				future.await(req.getRpcTimeoutInMillis(), TimeUnit.MILLISECONDS);
+				boolean done;
+				try {
+					done = future.await(req.getRpcTimeoutInMillis(), TimeUnit.MILLISECONDS);
+				} finally {
+					channel.removeRpcFuture(mid);
+				}
+				if (!done) throw new TimeoutException();
 				return future.getResponse();
 			}
 		} catch (RpcException e) {
@@ -153,6 +185,18 @@ public class DefaultRpcConnector implements RpcConnector {
 		}
 	}
 	
+	private void timeout(DefaultRpcChannel channel, long mid, RpcFuture<Object> future, int timeoutInMillis) {
+		if (timeoutInMillis <= 0 || timeoutInMillis == Integer.MAX_VALUE) return;
+		
+		final Timeout<RpcTimeout> timeout = timer.add(new RpcTimeout(channel, mid), timeoutInMillis, TimeUnit.MILLISECONDS);
+		future.addListener(new RpcFutureListener<Object>() {
+			@Override
+			public void operationComplete(RpcFuture<Object> future) {
+				timeout.cancel();
+			}
+		});
+	}
+	
 	void reconnect(final long connectionId) {
 		if (!disconnect(connectionId)) return;
 		
@@ -253,6 +297,17 @@ public class DefaultRpcConnector implements RpcConnector {
 		}
 	}
 	
+	/**
+	 * @return number of the futures waiting for response at the moment.
+	 */
+	public int pendingFutureNum() {
+		int num = 0;
+		for (DefaultRpcChannel channel : channels.values()) {
+			num += channel.getFutures().size();
+		}
+		return num;
+	}
+	
 	/**
 	 * @return all alive connection number at the moment.
 	 */
@@ -264,4 +319,26 @@ public class DefaultRpcConnector implements RpcConnector {
 		return num;
 	}
 	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	private static class RpcTimeout {
+		
+		
+		private final DefaultRpcChannel channel;
+		private final long              mid    ;
+		
+		
+		RpcTimeout(DefaultRpcChannel channel, long mid) {
+			this.channel = channel;
+			this.mid     = mid;
+		}
+		
+		
+		void expire() {
+			channel.expireRpcFuture(mid);
+		}
+	}
+
 }
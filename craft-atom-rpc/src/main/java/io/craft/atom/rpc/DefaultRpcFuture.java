@@ -3,48 +3,50 @@ package io.craft.atom.rpc;
 import io.craft.atom.protocol.rpc.model.RpcMessage;
 
 import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
+ * Completes once by a response or an exception, the first one wins and the others are dropped.
+ * A wait timeout leaves the future as it is, the invocation timeout is enforced by the connector which fails the future.
+ * Waiters are parked on a latch and listeners are queued lock free, each listener is notified exactly once.
+ *
  * @author mindwind
  * @version 1.0, Aug 19, 2014
  */
 public class DefaultRpcFuture<V> implements RpcFuture<V> {
-	
-	
-	private volatile RpcMessage response ;
-	private volatile Exception  exception;
-	private volatile boolean    done     ;
-	private volatile int        waiters  ;
-	
-	 
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(DefaultRpcFuture.class);
+
+
+	private final    CountDownLatch          latch     = new CountDownLatch(1)                        ;
+	private final    AtomicBoolean           completed = new AtomicBoolean()                          ;
+	private final    Queue<ListenerNotifier> listeners = new ConcurrentLinkedQueue<ListenerNotifier>();
+	private volatile RpcMessage              response                                                 ;
+	private volatile Exception               exception                                                ;
+	private volatile boolean                 done                                                     ;
+
+
 	// ~ ------------------------------------------------------------------------------------------------------------
-	
-	
+
+
 	@Override
 	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
-		long timeoutMillis = unit.toMillis(timeout);
-		long endTime       = System.currentTimeMillis() + timeoutMillis;
-		synchronized (this) {
-			if (done)               return done;
-			if (timeoutMillis <= 0) return done;
-			waiters++;
-			try {
-				while (!done) {
-					wait(timeoutMillis);
-					if (endTime < System.currentTimeMillis() && !done) {
-						exception = new TimeoutException();
-						break;
-					}
-				}
-			} finally {
-				waiters--;
-			}
-		}
-		return done;
+		if (done)         return done;
+		if (timeout <= 0) return done;
+		return latch.await(timeout, unit);
 	}
 
 	@Override
@@ -58,6 +60,7 @@ public class DefaultRpcFuture<V> implements RpcFuture<V> {
 		if (e != null) {
 			if (e instanceof IOException     ) throw (IOException)      e;
 			if (e instanceof TimeoutException) throw (TimeoutException) e;
+			if (e instanceof RpcException    ) throw (RpcException)     e;
 			throw new RpcException(RpcException.UNKNOWN, "unkonw error", e);
 		}
 		return response;
@@ -65,28 +68,44 @@ public class DefaultRpcFuture<V> implements RpcFuture<V> {
 
 	@Override
 	public void setException(Exception exception) {
-		synchronized (this) {
-			if (done) return;
-			this.exception = exception;
-			done = true;
-			if (waiters > 0) {
-                notifyAll();
-            }
-		}
+		if (!completed.compareAndSet(false, true)) return;
+		this.exception = exception;
+		complete();
 	}
 
 	@Override
 	public void setResponse(RpcMessage response) {
-		synchronized (this) {
-			if (done) return;
-			this.response = response;
-			done = true;
-			if (waiters > 0) {
-                notifyAll();
-            }
+		if (!completed.compareAndSet(false, true)) return;
+		this.response = response;
+		complete();
+	}
+
+	private void complete() {
+		done = true;
+		latch.countDown();
+		notifyListeners();
+	}
+
+	@Override
+	public void addListener(RpcFutureListener<V> listener) {
+		addListener(listener, null);
+	}
+
+	@Override
+	public void addListener(RpcFutureListener<V> listener, Executor executor) {
+		if (listener == null) throw new IllegalArgumentException("listener is null");
+		listeners.add(new ListenerNotifier(listener, executor));
+
+		// The future may be completed before the listener is queued, the queue guarantees each listener is polled only once.
+		if (done) notifyListeners();
+	}
+
+	private void notifyListeners() {
+		for (ListenerNotifier notifier = listeners.poll(); notifier != null; notifier = listeners.poll()) {
+			notifier.notifyListener();
 		}
 	}
-	
+
 	@Override
 	public V get() throws InterruptedException, ExecutionException {
 		try { return get(Long.MAX_VALUE, TimeUnit.DAYS); } catch (TimeoutException e) { throw new InterruptedException(e.getMessage()); }
@@ -95,7 +114,7 @@ public class DefaultRpcFuture<V> implements RpcFuture<V> {
 	@SuppressWarnings("unchecked")
 	@Override
 	public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-		await(timeout, unit);
+		if (!await(timeout, unit)) throw new TimeoutException();
 		try {
 			RpcMessage rsp = getResponse();
 			return (V) RpcMessages.unpackResponseMessage(rsp);
@@ -119,4 +138,45 @@ public class DefaultRpcFuture<V> implements RpcFuture<V> {
 		return done;
 	}
 
+
+	// ~ ------------------------------------------------------------------------------------------------------------
+
+
+	private class ListenerNotifier implements Runnable {
+
+
+		private final RpcFutureListener<V> listener;
+		private final Executor             executor;
+
+
+		ListenerNotifier(RpcFutureListener<V> listener, Executor executor) {
+			this.listener = listener;
+			this.executor = executor;
+		}
+
+
+		void notifyListener() {
+			if (executor == null) {
+				run();
+				return;
+			}
+
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				LOG.warn("[CRAFT-ATOM-RPC] Rpc future listener notification rejected, |listener={}|", listener, e);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				listener.operationComplete(DefaultRpcFuture.this);
+			} catch (Throwable t) {
+				LOG.warn("[CRAFT-ATOM-RPC] Rpc future listener threw exception, |listener={}|", listener, t);
+			}
+		}
+
+	}
+
 }
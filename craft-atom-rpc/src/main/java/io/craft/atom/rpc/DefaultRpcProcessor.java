@@ -7,17 +7,14 @@ import io.craft.atom.rpc.spi.RpcChannel;
 import io.craft.atom.rpc.spi.RpcExecutorFactory;
 import io.craft.atom.rpc.spi.RpcInvoker;
 import io.craft.atom.rpc.spi.RpcProcessor;
+import io.craft.atom.util.schedule.ExpirationListener;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel.Timeout;
 import io.craft.atom.util.thread.MonitoringExecutorService;
-import io.craft.atom.util.thread.NamedThreadFactory;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -26,6 +23,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The rpc request is invoked inline on the executor of its api, server side timeout is enforced by a timer shared by all the apis, 
+ * which writes back a server timeout response if the invocation does not complete in time and optionally interrupts the invoking thread.
+ * Responses written by io process thread and timer thread never wait for concurrent writers of the channel.
+ * <p>
+ * The timeout is counted from the request is received, so a request waits too long in the executor queue is skipped
+ * without invocation, its caller has already given up.
+ * 
  * @author mindwind
  * @version 1.0, Aug 7, 2014
  */
@@ -35,16 +39,24 @@ public class DefaultRpcProcessor implements RpcProcessor {
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultRpcProcessor.class);
 		
 	
-	@Getter @Setter private RpcInvoker         invoker        ;
-	@Getter @Setter private RpcExecutorFactory executorFactory;
-	@Getter @Setter private ExecutorService    timeoutExecutor;
+	@Getter @Setter private RpcInvoker                           invoker           ;
+	@Getter @Setter private RpcExecutorFactory                   executorFactory   ;
+	@Getter @Setter private boolean                              interruptOnTimeout;
+	@Getter         private HierarchicalTimingWheel<ProcessTask> timer             ;
 	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
 	
 	
 	public DefaultRpcProcessor() {
-		this.timeoutExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("craft-atom-rpc-timeout"));
+		this.timer = new HierarchicalTimingWheel<ProcessTask>(10, 64, TimeUnit.MILLISECONDS);
+		this.timer.addExpirationListener(new ExpirationListener<ProcessTask>() {
+			@Override
+			public void expired(ProcessTask task) {
+				task.timeout();
+			}
+		});
+		this.timer.start();
 	}
 	
 	
@@ -56,11 +68,17 @@ public class DefaultRpcProcessor implements RpcProcessor {
 		if (req == null) return;
 		if (req.isHeartbeat()) { 
 			RpcMessage rsp = RpcMessages.newHbResponseRpcMessage(req.getId());
-			channel.write(rsp);
+			channel.writeAsync(rsp);
 			LOG.debug("[CRAFT-ATOM-RPC] Rpc server processor process heartbeat, |hbreq={}, hbrsp={}, channel={}|", req, rsp, channel);
 			return;
 		}
 		
+		// Integer.MAX_VALUE is the default which means no timeout, neither deadline nor timer is needed.
+		int timeoutInMillis = req.getRpcTimeoutInMillis();
+		if (timeoutInMillis > 0 && timeoutInMillis != Integer.MAX_VALUE) {
+			req.setDeadline(System.currentTimeMillis() + timeoutInMillis);
+		}
+		
 		RpcApi api = api(req);
 		MonitoringExecutorService executor = null;
 		try {
@@ -68,10 +86,10 @@ public class DefaultRpcProcessor implements RpcProcessor {
 			executor.execute(new ProcessTask(req, channel));
 		} catch (RejectedExecutionException e) {
 			LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor overload, |executor={}|", executor);
-			channel.write(RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_OVERLOAD, "server overload")));
+			channel.writeAsync(RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_OVERLOAD, "server overload")));
 		} catch (RpcException e) {
 			LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor error", e);
-			channel.write(RpcMessages.newRsponseRpcMessage(req.getId(), e));
+			channel.writeAsync(RpcMessages.newRsponseRpcMessage(req.getId(), e));
 		}
 		LOG.debug("[CRAFT-ATOM-RPC] Rpc server processor process request, |req={}, channel={}, executor={}|", req, channel, executor);
 	}
@@ -86,12 +104,6 @@ public class DefaultRpcProcessor implements RpcProcessor {
 		return rsp;
 	}
 	
-	private int rpcTimeoutInMillis(RpcMessage req) {
-		int timeout = req.getRpcTimeoutInMillis();
-		if (timeout == 0) { timeout = Integer.MAX_VALUE; }
-		return timeout;
-	}
-	
 	private MonitoringExecutorService executor(RpcApi api) {
 		return executorFactory.getExecutor(api);
 	}
@@ -128,8 +140,11 @@ public class DefaultRpcProcessor implements RpcProcessor {
 	private class ProcessTask implements Runnable {
 		
 		
-		private RpcMessage req;
-		private RpcChannel channel;
+		private final RpcMessage    req                                  ;
+		private final RpcChannel    channel                              ;
+		private final AtomicBoolean responded   = new AtomicBoolean(false);
+		private       Thread        thread                               ;
+		private       boolean       interrupted                          ;
 		
 		
 		public ProcessTask(RpcMessage req, RpcChannel channel) {
@@ -140,43 +155,96 @@ public class DefaultRpcProcessor implements RpcProcessor {
 
 		@Override
 		public void run() {
+			// One way request
+			if (req.isOneway()) {
+				invoke();
+				return;
+			}
+			
+			Timeout<ProcessTask> timeout = null;
+			long deadline = req.getDeadline();
+			if (deadline > 0) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					timeout();
+					return;
+				}
+				synchronized (this) { thread = Thread.currentThread(); }
+				timeout = timer.add(this, remaining, TimeUnit.MILLISECONDS);
+			}
+			
 			RpcMessage rsp;
 			try {
-				Future<RpcMessage> future = timeoutExecutor.submit(new Callable<RpcMessage>() {
-					@Override
-					public RpcMessage call() throws Exception {
-						return process0(req);
+				rsp = invoke();
+			} finally {
+				if (timeout != null) {
+					timeout.cancel();
+					synchronized (this) {
+						thread = null;
+						
+						// clear the interrupt of timeout only, so it never leaks to next task of the executor thread, 
+						// while an interrupt from others (e.g. executor shutdown) is kept.
+						if (interrupted) { Thread.interrupted(); }
 					}
-				});
-				// One way request
-				if (req.isOneway()) return;
-				
-				// Wait response
-				rsp = future.get(rpcTimeoutInMillis(req), TimeUnit.MILLISECONDS);
-			} catch (ExecutionException e) {
-				LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor execute error", e);
-				rsp = RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_ERROR, "server error"));
-			} catch (TimeoutException e) {
-				LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor execute timeout", e);
-				rsp = RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_TIMEOUT, "server timeout"));
-			} catch (Exception e) {
-				LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor execute unknown error", e);
-				rsp = RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.UNKNOWN, "unknown error"));
+				}
+			}
+			respond(rsp, false);
+		}
+		
+		private RpcMessage invoke() {
+			try {
+				return process0(req);
+			} catch (Throwable t) {
+				LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor execute error", t);
+				return RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_ERROR, "server error"));
+			}
+		}
+		
+		/**
+		 * Invoked by timer thread if the invocation does not complete in time, or by executor thread if the request expired in queue.
+		 */
+		private void timeout() {
+			LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor execute timeout, |req={}|", req);
+			if (!respond(RpcMessages.newRsponseRpcMessage(req.getId(), new RpcException(RpcException.SERVER_TIMEOUT, "server timeout")), true)) {
+				return;
+			}
+			
+			if (interruptOnTimeout) {
+				synchronized (this) {
+					if (thread != null) { thread.interrupt(); interrupted = true; }
+				}
+			}
+		}
+		
+		/**
+		 * Writes back the response once, whichever of completion and timeout comes first.
+		 * 
+		 * @param async <tt>true</tt> if the caller must never wait for concurrent writers, e.g. the timer thread.
+		 * @return <tt>true</tt> if the response is written by this invocation.
+		 */
+		private boolean respond(RpcMessage rsp, boolean async) {
+			if (!responded.compareAndSet(false, true)) {
+				return false;
 			}
 			
 			try {
-				channel.write(rsp);
+				if (async) {
+					channel.writeAsync(rsp);
+				} else {
+					channel.write(rsp);
+				}
 				LOG.debug("[CRAFT-ATOM-RPC] Rpc server processor process response, |rsp={}, channel={}|", rsp, channel);
 			} catch (Exception e) {
 				LOG.warn("[CRAFT-ATOM-RPC] Rpc server processor write back rpc response fail", e);
 			}
+			return true;
 		}
 	}
 
 
 	@Override
 	public void close() {
-		timeoutExecutor.shutdownNow();
+		timer.stop();
 		executorFactory.shutdown();
 	}
 
@@ -3,6 +3,7 @@ package io.craft.atom.rpc;
 import io.craft.atom.rpc.spi.RpcInvoker;
 import io.craft.atom.rpc.spi.RpcProxyFactory;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
 import lombok.Getter;
@@ -24,5 +25,21 @@ public class DefaultRpcProxyFactory implements RpcProxyFactory {
 	public <T> T getProxy(Class<T> rpcInterface) {
 		return (T) Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), new Class<?>[] { rpcInterface }, new RpcInvocationHandler(invoker));
 	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T getAsyncProxy(Class<?> rpcInterface, Class<T> asyncInterface) {
+		for (Method method : asyncInterface.getMethods()) {
+			try {
+				rpcInterface.getMethod(method.getName(), method.getParameterTypes());
+			} catch (NoSuchMethodException e) {
+				throw new IllegalArgumentException("No mirror method in rpc interface, |method=" + method + ", rpcInterface=" + rpcInterface.getName() + "|");
+			}
+			if (!method.getReturnType().isAssignableFrom(RpcFuture.class)) {
+				throw new IllegalArgumentException("Async method should return rpc future, |method=" + method + "|");
+			}
+		}
+		return (T) Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), new Class<?>[] { asyncInterface }, new RpcInvocationHandler(invoker, rpcInterface));
+	}
 
 }
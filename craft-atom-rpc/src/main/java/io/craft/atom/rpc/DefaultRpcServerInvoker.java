@@ -51,6 +51,8 @@ public class DefaultRpcServerInvoker implements RpcInvoker {
 			ctx.setClientAddress(req.getClientAddress());
 			ctx.setServerAddress(req.getServerAddress());
 			ctx.setAttachments(req.getAttachments());
+			ctx.setDeadline(req.getDeadline());
+			RpcDeadline.set(req.getDeadline());
 			LOG.debug("[CRAFT-ATOM-RPC] Rpc server invoker is invoking, |rpcContext={}|", ctx);
 			
 			// Reflect invoke
@@ -67,6 +69,7 @@ public class DefaultRpcServerInvoker implements RpcInvoker {
 			}
 		} finally {
 			RpcContext.removeContext();
+			RpcDeadline.remove();
 		}
 	}
 	
@@ -0,0 +1,216 @@
+package io.craft.atom.rpc;
+
+import io.craft.atom.io.Channel;
+import io.craft.atom.io.IllegalChannelStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.ToString;
+
+/**
+ * Batches encoded rpc messages written by concurrent threads into fewer and larger channel writes.
+ * <p>
+ * Writers enqueue their bytes and the one wins the flushing flag writes a batch, so the batching is adaptive without any timer:
+ * a lonely writer under low load flushes its own message at once with no copy and no delay,
+ * while under high load messages enqueued during a flush are packed into one buffer up to the byte budget by the next flush.
+ * <p>
+ * A writer returns only after its own bytes are handed to the channel, it flushes batches until then or parks while the concurrent flushing thread writes them.
+ * So a writer never drains the messages enqueued after its own beyond the current batch, and the writer at the head of the queue is woken to flush on,
+ * no message is stranded in the queue.
+ * Threads must never block (e.g. io process thread and timer thread) write with {@link #writeAsync(byte[])} which never parks,
+ * nobody waits for such a message so the flushing thread hands over to the next waiting writer only after it is flushed.
+ * Once a channel write failed the writer is failed, all the queued and later messages are dropped and their writers get the exception.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString(of = { "channel", "budget", "failure" })
+public class RpcBatchWriter {
+
+
+	/** Default byte budget of a batch. */
+	public static final int DEFAULT_BUDGET = 64 * 1024;
+
+
+	private final    Channel<byte[]>              channel                                      ;
+	private final    int                          budget                                       ;
+	private final    Queue<Entry>                 queue    = new ConcurrentLinkedQueue<Entry>();
+	private final    AtomicBoolean                flushing = new AtomicBoolean()               ;
+	private final    List<Entry>                  batch    = new ArrayList<Entry>()            ;
+	private volatile IllegalChannelStateException failure                                      ;
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	public RpcBatchWriter(Channel<byte[]> channel, int budget) {
+		if (budget <= 0) throw new IllegalArgumentException("budget should > 0");
+		this.channel = channel;
+		this.budget  = budget;
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	/**
+	 * Writes the bytes, it may be flushed by the caller thread or the concurrent flushing thread.
+	 * It returns after the bytes are written to the channel.
+	 *
+	 * @param bytes
+	 * @throws IllegalChannelStateException If channel state is not open or the writer is failed, the bytes are dropped.
+	 */
+	public void write(byte[] bytes) throws IllegalChannelStateException {
+		if (failure != null) throw new IllegalChannelStateException("rpc batch writer failed", failure);
+
+		Entry entry = new Entry(bytes, Thread.currentThread());
+		queue.add(entry);
+		while (entry.state == Entry.QUEUED) {
+			if (flushing.compareAndSet(false, true)) {
+				try {
+					flush();
+				} finally {
+					flushing.set(false);
+				}
+				handOver();
+			} else {
+				LockSupport.park(this);
+			}
+		}
+
+		if (entry.state == Entry.DROPPED) throw new IllegalChannelStateException("rpc batch write dropped", failure);
+	}
+
+	/**
+	 * Writes the bytes without waiting, it is flushed by the caller thread if no other thread is flushing, 
+	 * otherwise it returns at once and the bytes are written by the concurrent flushing thread.
+	 *
+	 * @param bytes
+	 * @throws IllegalChannelStateException If channel state is not open or the writer is failed, the bytes are dropped.
+	 */
+	public void writeAsync(byte[] bytes) throws IllegalChannelStateException {
+		if (failure != null) throw new IllegalChannelStateException("rpc batch writer failed", failure);
+
+		queue.add(new Entry(bytes, null));
+		handOver();
+	}
+
+	/**
+	 * @return true if a channel write failed, the writer drops all the messages since then.
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/** 
+	 * Hands over after release the flushing flag, a writer enqueued later than the peek wins the flag by itself.
+	 * Asynchronous messages at the head of the queue have no waiter to wake, they are flushed here.
+	 */
+	private void handOver() {
+		for (Entry head = queue.peek(); head != null; head = queue.peek()) {
+			if (head.waiter != null) {
+				LockSupport.unpark(head.waiter);
+				return;
+			}
+			
+			// The flag holder hands over again after it releases the flag.
+			if (!flushing.compareAndSet(false, true)) return;
+			try {
+				flush();
+			} finally {
+				flushing.set(false);
+			}
+		}
+	}
+
+	/** Writes one batch, the caller holds the flushing flag. */
+	private void flush() {
+		if (failure != null) {
+			drop();
+			return;
+		}
+
+		Entry head = queue.poll();
+		if (head == null) return;
+
+		int size = head.bytes.length;
+		batch.add(head);
+		while (size < budget) {
+			Entry next = queue.peek();
+			if (next == null || size + next.bytes.length > budget) break;
+			batch.add(queue.poll());
+			size += next.bytes.length;
+		}
+
+		try {
+			// Latency first, a lonely message is written as it is without copy.
+			channel.write(batch.size() == 1 ? head.bytes : merge(size));
+			done(Entry.WRITTEN);
+		} catch (IllegalChannelStateException e) {
+			// The channel is broken, the batch and all the queued messages are dropped.
+			failure = e;
+			done(Entry.DROPPED);
+			drop();
+		} finally {
+			batch.clear();
+		}
+	}
+
+	private byte[] merge(int size) {
+		byte[] merged = new byte[size];
+		int pos = 0;
+		for (Entry entry : batch) {
+			System.arraycopy(entry.bytes, 0, merged, pos, entry.bytes.length);
+			pos += entry.bytes.length;
+		}
+		return merged;
+	}
+
+	private void done(int state) {
+		for (Entry entry : batch) {
+			entry.done(state);
+		}
+	}
+
+	private void drop() {
+		for (Entry entry = queue.poll(); entry != null; entry = queue.poll()) {
+			entry.done(Entry.DROPPED);
+		}
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private static class Entry {
+
+
+		static final int QUEUED  = 0;
+		static final int WRITTEN = 1;
+		static final int DROPPED = 2;
+
+
+		final    byte[] bytes ;
+		final    Thread waiter;   // null for asynchronous write
+		volatile int    state ;
+
+
+		Entry(byte[] bytes, Thread waiter) {
+			this.bytes  = bytes;
+			this.waiter = waiter;
+		}
+
+
+		void done(int state) {
+			this.state = state;
+			if (waiter != null && waiter != Thread.currentThread()) LockSupport.unpark(waiter);
+		}
+
+	}
+
+}
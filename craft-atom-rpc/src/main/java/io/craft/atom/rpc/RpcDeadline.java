@@ -0,0 +1,42 @@
+package io.craft.atom.rpc;
+
+/**
+ * Thread local deadline of the request processing by current rpc server thread.
+ * <p>
+ * Rpc context is removed after each invocation, so the deadline is kept here for all the nested invocations launched by the rpc method.
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+final class RpcDeadline {
+	
+	
+	private static final ThreadLocal<Long> THREAD_LOCAL = new ThreadLocal<Long>();
+	
+	
+	// ~ ------------------------------------------------------------------------------------------------------------
+	
+	
+	private RpcDeadline() {}
+	
+	
+	// ~ ------------------------------------------------------------------------------------------------------------
+	
+	
+	static void set(long deadline) {
+		if (deadline > 0) THREAD_LOCAL.set(deadline);
+	}
+	
+	/**
+	 * @return deadline of the processing request, or <tt>0</tt> if current thread is not processing a request with deadline.
+	 */
+	static long get() {
+		Long deadline = THREAD_LOCAL.get();
+		return deadline == null ? 0 : deadline;
+	}
+	
+	static void remove() {
+		THREAD_LOCAL.remove();
+	}
+	
+}
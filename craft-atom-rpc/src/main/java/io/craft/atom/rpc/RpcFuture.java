@@ -3,6 +3,7 @@ package io.craft.atom.rpc;
 import io.craft.atom.protocol.rpc.model.RpcMessage;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -10,6 +11,9 @@ import java.util.concurrent.TimeoutException;
 
 /**
  * Represents the completion of an asynchronous rpc invocation.
+ * <p>
+ * Besides blocking on {@link #get()} or {@link #await(long, TimeUnit)}, the caller can register {@link RpcFutureListener}
+ * to be notified when the invocation is completed, so that no thread is parked for each in-flight invocation.
  * 
  * @author mindwind
  * @version 1.0, Aug 19, 2014
@@ -59,4 +63,22 @@ public interface RpcFuture<V> extends Future<V> {
 	 */
 	void setResponse(RpcMessage response);
 	
+	/**
+	 * Adds the listener to this future, it is notified once the future is completed.
+	 * If the future is already completed, the listener is notified immediately by the caller thread,
+	 * otherwise it is notified by the thread which completes the future, usually the rpc client I/O thread,
+	 * so the listener should never block.
+	 * 
+	 * @param listener
+	 */
+	void addListener(RpcFutureListener<V> listener);
+	
+	/**
+	 * Adds the listener to this future, it is notified by the specified executor once the future is completed.
+	 * 
+	 * @param listener
+	 * @param executor
+	 */
+	void addListener(RpcFutureListener<V> listener, Executor executor);
+	
 }
@@ -0,0 +1,22 @@
+package io.craft.atom.rpc;
+
+import java.util.EventListener;
+
+/**
+ * Listens to the completion of a {@link RpcFuture}.
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ * @see RpcFuture#addListener(RpcFutureListener)
+ */
+public interface RpcFutureListener<V> extends EventListener {
+	
+	
+	/**
+	 * Invoked when the rpc invocation associated with the future has been completed, either succeeded or failed.
+	 * 
+	 * @param future the completed future.
+	 */
+	void operationComplete(RpcFuture<V> future);
+	
+}
@@ -1,6 +1,7 @@
 package io.craft.atom.rpc;
 
 import io.craft.atom.protocol.rpc.model.RpcMessage;
+import io.craft.atom.rpc.api.RpcContext;
 import io.craft.atom.rpc.spi.RpcInvoker;
 
 import java.lang.reflect.InvocationHandler;
@@ -22,16 +23,32 @@ public class RpcInvocationHandler implements InvocationHandler {
 	private static final Logger LOG = LoggerFactory.getLogger(RpcInvocationHandler.class);
 	
 	
-	@Getter @Setter private RpcInvoker invoker;
+	@Getter @Setter private RpcInvoker invoker     ;
+	@Getter @Setter private Class<?>   rpcInterface;
 	
 	
 	public RpcInvocationHandler(RpcInvoker invoker) {
 		this.invoker = invoker;
 	}
 	
+	/**
+	 * Creates an asynchronous handler, the proxied async interface methods are invoked as the mirror methods of the rpc interface.
+	 * 
+	 * @param invoker
+	 * @param rpcInterface
+	 */
+	public RpcInvocationHandler(RpcInvoker invoker, Class<?> rpcInterface) {
+		this.invoker      = invoker;
+		this.rpcInterface = rpcInterface;
+	}
+	
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (this.rpcInterface != null) {
+			return invokeAsync(method, args);
+		}
+		
 		Class<?>   rpcInterface   = method.getDeclaringClass();
 		String     methodName     = method.getName();
 		Class<?>[] parameterTypes = method.getParameterTypes();
@@ -44,5 +61,24 @@ public class RpcInvocationHandler implements InvocationHandler {
 		
 		return RpcMessages.unpackResponseMessage(rsp);
 	}
+	
+	private Object invokeAsync(Method method, Object[] args) {
+		RpcMessage req = RpcMessages.newRequestRpcMessage(rpcInterface, method.getName(), method.getParameterTypes(), args);
+		
+		// Keep the context reference, the invoker removes it from current thread after invocation.
+		RpcContext ctx = RpcContext.getContext();
+		ctx.setAsync(true);
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc client async proxy invocation, |req={}|", req);
+		try {
+			invoker.invoke(req);
+		} catch (RpcException e) {
+			// Synchronous failure (e.g. broken connection or deadline exceeded) is delivered by the returned future as well.
+			LOG.debug("[CRAFT-ATOM-RPC] Rpc client async proxy invocation fail, |req={}|", req, e);
+			DefaultRpcFuture<Object> future = new DefaultRpcFuture<Object>();
+			future.setException(e);
+			return future;
+		}
+		return ctx.getFuture();
+	}
 
 }
@@ -27,5 +27,7 @@ public abstract class RpcIoHandler implements IoHandler {
 	public void channelWritten(Channel<byte[]> channel, byte[] bytes) {}
 	@Override
 	public void channelThrown(Channel<byte[]> channel, Exception cause) {}
+	@Override
+	public void channelWritabilityChanged(Channel<byte[]> channel) {}
 	
 }
@@ -20,16 +20,22 @@ public class RpcServerIoHandler extends RpcIoHandler {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(RpcServerIoHandler.class);
 	
-	private RpcProtocol  protocol ;
-	private RpcProcessor processor;
+	private RpcProtocol  protocol       ;
+	private RpcProcessor processor      ;
+	private int          batchWriteBytes;
 	
 	
 	// ~ -------------------------------------------------------------------------------------------------------------
 	
 	
 	public RpcServerIoHandler(RpcProtocol protocol, RpcProcessor processor) {
-		this.protocol  = protocol;
-		this.processor = processor;
+		this(protocol, processor, 0);
+	}
+	
+	public RpcServerIoHandler(RpcProtocol protocol, RpcProcessor processor, int batchWriteBytes) {
+		this.protocol        = protocol;
+		this.processor       = processor;
+		this.batchWriteBytes = batchWriteBytes;
 	}
 	
 	
@@ -38,7 +44,7 @@ public class RpcServerIoHandler extends RpcIoHandler {
 	
 	@Override
 	public void channelOpened(Channel<byte[]> channel) {
-		DefaultRpcChannel rpcChannel = new DefaultRpcChannel(channel, protocol.getRpcEncoder(), protocol.getRpcDecoder());
+		DefaultRpcChannel rpcChannel = new DefaultRpcChannel(channel, protocol.getRpcEncoder(), protocol.getRpcDecoder(), batchWriteBytes);
 		channel.setAttribute(RpcIoHandler.RPC_CHANNEL, rpcChannel);
 	}
 
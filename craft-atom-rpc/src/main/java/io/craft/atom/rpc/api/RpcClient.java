@@ -21,6 +21,21 @@ public interface RpcClient extends RpcClientMBean {
 	 */
 	<T> T refer(Class<T> rpcInterface);
 	
+	/**
+	 * Refer the rpc api asynchronous proxy instance which implements the specific async interface.
+	 * Each async interface method has same name and parameter types with a rpc interface method, 
+	 * but returns {@link io.craft.atom.rpc.RpcFuture} which completes with the remote result, e.g.
+	 * <pre>
+	 * interface DemoService      { String            echo(String in); }
+	 * interface DemoServiceAsync { RpcFuture&lt;String&gt; echo(String in); }
+	 * </pre>
+	 * 
+	 * @param  rpcInterface
+	 * @param  asyncInterface
+	 * @return a proxy instance.
+	 */
+	<T> T referAsync(Class<?> rpcInterface, Class<T> asyncInterface);
+	
 	/**
 	 * Open the client, connect to rpc server for communicating.
 	 * Just invoke this once.
@@ -13,6 +13,10 @@ import lombok.ToString;
 /**
  * RPC context is a thread local context. 
  * Each rpc invocation bind a context instance to current thread.
+ * <p>
+ * Deadline is an absolute time in milliseconds, the invocation fails fast if it is passed, otherwise its timeout is limited to the remaining time.
+ * In rpc server side the deadline of the processing request is set to the context, 
+ * and all the nested invocations launched by the rpc method inherit the remaining time of its caller.
  * 
  * @author mindwind
  * @version 1.0, Aug 26, 2014
@@ -37,6 +41,7 @@ public final class RpcContext {
 	@Getter @Setter private Map<String, String> attachments       ;
 	@Getter @Setter private String              rpcId             ;
 	@Getter @Setter private int                 rpcTimeoutInMillis;
+	@Getter @Setter private long                deadline          ;
 	@Getter @Setter private boolean             oneway            ;
 	@Getter @Setter private boolean             async             ;
 	        @Setter private Future<?>           future            ;
@@ -25,6 +25,15 @@ public interface RpcChannel {
 	 */
 	void write(RpcMessage msg) throws RpcException;
 	
+	/**
+	 * Write rpc message like {@link #write(RpcMessage)}, but never waits for concurrent writers of the channel.
+	 * It is used by the threads must never block, e.g. io process thread and timer thread.
+	 * 
+	 * @param msg
+	 * @throws RpcException if any other error occurs
+	 */
+	void writeAsync(RpcMessage msg) throws RpcException;
+	
 	/**
 	 * Read bytes and decode it to rcp messages from remote peer of the channel.
 	 * 
@@ -17,6 +17,18 @@ public interface RpcProxyFactory {
 	 */
 	<T> T getProxy(Class<T> rpcInterface);
 	
+	/**
+	 * Get an instance of asynchronous proxy class for the specified interface.
+	 * Each method of the async interface mirrors a method of the rpc interface with same name and parameter types,
+	 * but returns a {@link io.craft.atom.rpc.RpcFuture} instead, the invocation returns immediately without waiting response.
+	 * 
+	 * @param  rpcInterface
+	 * @param  asyncInterface
+	 * @return a proxy instance that implements the specified async interface.
+	 * @throws IllegalArgumentException if any method of the async interface does not mirror a method of the rpc interface.
+	 */
+	<T> T getAsyncProxy(Class<?> rpcInterface, Class<T> asyncInterface);
+	
 	/**
 	 * Set rpc invoker. Proxy instance created by factory would use {@link RpcInvoker} to launch a rpc invocation.
 	 * 
@@ -0,0 +1,15 @@
+package io.craft.atom.rpc;
+
+/**
+ * Async mirror of {@link DemoService}
+ * 
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public interface DemoServiceAsync {
+
+	
+	RpcFuture<String> echo(String in);
+	RpcFuture<Void>   timeout(String in);
+	
+}
@@ -0,0 +1,204 @@
+package io.craft.atom.rpc;
+
+import io.craft.atom.protocol.rpc.model.RpcMessage;
+import io.craft.atom.rpc.spi.RpcApi;
+import io.craft.atom.rpc.spi.RpcChannel;
+import io.craft.atom.rpc.spi.RpcConnector;
+import io.craft.atom.rpc.spi.RpcExecutorFactory;
+import io.craft.atom.rpc.spi.RpcInvoker;
+import io.craft.atom.rpc.spi.RpcRegistry;
+import io.craft.atom.test.CaseCounter;
+import io.craft.atom.util.thread.MonitoringExecutorService;
+import io.craft.atom.util.thread.NamedThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link DefaultRpcProcessor}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestDefaultRpcProcessor {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestDefaultRpcProcessor.class);
+
+
+	private          DefaultRpcProcessor       processor                       ;
+	private          BlockingQueue<RpcMessage> responses                       ;
+	private          RpcChannel                channel                         ;
+	private volatile long                      sleep                           ;
+	private volatile CountDownLatch            interrupted                     ;
+	private volatile long                      deadline                        ;
+	private volatile int                       timers                          ;
+	private final    AtomicInteger             invoked     = new AtomicInteger();
+
+
+	@Before
+	public void before() {
+		final RpcThreadPoolExecutor executor = new RpcThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(16), new NamedThreadFactory("craft-atom-rpc"));
+		responses   = new LinkedBlockingQueue<RpcMessage>();
+		interrupted = new CountDownLatch(1);
+		processor   = new DefaultRpcProcessor();
+		processor.setExecutorFactory(new RpcExecutorFactory() {
+			@Override public MonitoringExecutorService getExecutor(RpcApi api) { return executor;         }
+			@Override public void setRegistry(RpcRegistry registry)            {                          }
+			@Override public void shutdown()                                   { executor.shutdownNow(); }
+		});
+		processor.setInvoker(new RpcInvoker() {
+			@Override
+			public RpcMessage invoke(RpcMessage req) {
+				invoked.incrementAndGet();
+				deadline = req.getDeadline();
+				timers   = processor.getTimer().size();
+				try {
+					if (sleep > 0) { Thread.sleep(sleep); }
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				return RpcMessages.newRsponseRpcMessage(req.getId(), Thread.currentThread().getName());
+			}
+			@Override public void setConnector(RpcConnector connector) {}
+			@Override public void setRegistry(RpcRegistry registry)    {}
+		});
+		channel = new RpcChannel() {
+			@Override public void write(RpcMessage msg)      { responses.add(msg); }
+			@Override public void writeAsync(RpcMessage msg) { responses.add(msg); }
+			@Override public List<RpcMessage> read(byte[] b) { return null;        }
+		};
+	}
+
+	@After
+	public void after() {
+		processor.close();
+	}
+
+	@Test
+	public void testInline() throws Exception {
+		RpcMessage req = request(1000);
+		processor.process(req, channel);
+		RpcMessage rsp = responses.poll(5, TimeUnit.SECONDS);
+		Assert.assertNotNull(rsp);
+		Assert.assertEquals(req.getId(), rsp.getId());
+
+		// invoked on the api executor thread, no handoff to another thread.
+		Assert.assertTrue(((String) RpcMessages.unpackResponseMessage(rsp)).startsWith("craft-atom-rpc"));
+		Assert.assertFalse(((String) RpcMessages.unpackResponseMessage(rsp)).startsWith("craft-atom-rpc-timeout"));
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor inline invocation. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		sleep = 500;
+		RpcMessage req = request(100);
+		long s = System.currentTimeMillis();
+		processor.process(req, channel);
+		RpcMessage rsp = responses.poll(5, TimeUnit.SECONDS);
+		long elapse = System.currentTimeMillis() - s;
+		Assert.assertNotNull(rsp);
+		Assert.assertTrue(elapse < 400);
+		try {
+			RpcMessages.unpackResponseMessage(rsp);
+			Assert.fail();
+		} catch (RpcException e) {
+			Assert.assertEquals(RpcException.SERVER_TIMEOUT, e.getCode());
+		}
+
+		// the late response of the invocation is dropped.
+		Assert.assertNull(responses.poll(800, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(1, interrupted.getCount());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor server timeout. ", CaseCounter.incr(4)));
+	}
+
+	@Test
+	public void testInterruptOnTimeout() throws Exception {
+		sleep = 5000;
+		processor.setInterruptOnTimeout(true);
+		processor.process(request(100), channel);
+		Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+		Assert.assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+
+		// the interrupt never leaks to the next invocation on the same thread.
+		sleep = 50;
+		interrupted = new CountDownLatch(1);
+		processor.process(request(1000), channel);
+		Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, interrupted.getCount());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor interrupt on timeout. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testNoTimeout() throws Exception {
+		// the default Integer.MAX_VALUE and non-positive timeout mean no timeout, neither deadline nor timer.
+		int[] timeouts = new int[] { Integer.MAX_VALUE, 0, -1 };
+		for (int timeout : timeouts) {
+			processor.process(request(timeout), channel);
+			Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+			Assert.assertEquals(0, deadline);
+			Assert.assertEquals(0, timers);
+		}
+		
+		// a finite timeout is armed on the timer during invocation.
+		processor.process(request(1000), channel);
+		Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+		Assert.assertTrue(deadline > 0);
+		Assert.assertEquals(1, timers);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor no timeout. ", CaseCounter.incr(7)));
+	}
+
+	@Test
+	public void testSkipExpired() throws Exception {
+		// the only executor thread is busy, the second request expires in executor queue.
+		sleep = 300;
+		processor.process(request(1000), channel);
+		RpcMessage req = request(100);
+		processor.process(req, channel);
+		Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+		RpcMessage rsp = responses.poll(5, TimeUnit.SECONDS);
+		Assert.assertEquals(req.getId(), rsp.getId());
+		try {
+			RpcMessages.unpackResponseMessage(rsp);
+			Assert.fail();
+		} catch (RpcException e) {
+			Assert.assertEquals(RpcException.SERVER_TIMEOUT, e.getCode());
+		}
+		
+		// the queued request is skipped without invocation.
+		Assert.assertEquals(1, invoked.get());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor skip expired request. ", CaseCounter.incr(3)));
+	}
+	
+	@Test
+	public void testLatency() throws Exception {
+		int n = 10000;
+		long s = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			processor.process(request(1000), channel);
+			Assert.assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+		}
+		long elapse = System.nanoTime() - s;
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc processor latency |calls={}, elapse={}ns, avg={}ns|", n, elapse, elapse / n);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc processor latency. ", CaseCounter.incr(1)));
+	}
+
+	private RpcMessage request(int timeoutInMillis) {
+		RpcMessage req = RpcMessages.newRequestRpcMessage(DemoService.class, "echo", new Class<?>[] { String.class }, new Object[] { "hi" });
+		req.setRpcTimeoutInMillis(timeoutInMillis);
+		return req;
+	}
+
+}
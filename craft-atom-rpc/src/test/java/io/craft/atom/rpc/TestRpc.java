@@ -23,11 +23,16 @@ import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -328,6 +333,220 @@ public class TestRpc {
 		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test async. ", CaseCounter.incr(4)));
 	}
 	
+	@Test
+	public void testAsyncListener() throws Exception {
+		RpcContext ctx = RpcContext.getContext();
+		ctx.setAsync(true);
+		ds.echo("hi");
+		RpcFuture<String> future = (RpcFuture<String>) ctx.<String>getFuture();
+		final Semaphore notified = new Semaphore(0);
+		final AtomicBoolean flag = new AtomicBoolean(true);
+		RpcFutureListener<String> listener = new RpcFutureListener<String>() {
+			@Override
+			public void operationComplete(RpcFuture<String> future) {
+				try {
+					if (!"hi".equals(future.get())) flag.set(false);
+				} catch (Exception e) {
+					flag.set(false);
+				}
+				notified.release();
+			}
+		};
+		future.addListener(listener);
+		Assert.assertTrue(notified.tryAcquire(2, TimeUnit.SECONDS));
+		
+		// listener added after completion is notified immediately, by the executor if specified.
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			future.addListener(listener, executor);
+			Assert.assertTrue(notified.tryAcquire(2, TimeUnit.SECONDS));
+			Assert.assertTrue(flag.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test async listener. ", CaseCounter.incr(2)));
+	}
+	
+	@Test
+	public void testReferAsync() throws Exception {
+		DemoServiceAsync dsa = client.referAsync(DemoService.class, DemoServiceAsync.class);
+		RpcFuture<String> future = dsa.echo("hi");
+		Assert.assertEquals("hi", future.get(2, TimeUnit.SECONDS));
+		
+		// invalid async interface
+		try {
+			client.referAsync(DemoService.class, Runnable.class);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(true);
+		}
+		
+		// a short wait timeout leaves the future in flight, it is completed later by response or invocation timeout.
+		RpcContext.getContext().setRpcTimeoutInMillis(100);
+		RpcFuture<Void> tf = dsa.timeout("hi");
+		Assert.assertFalse(tf.await(20, TimeUnit.MILLISECONDS));
+		Assert.assertFalse(tf.isDone());
+		Assert.assertNull(tf.getException());
+		try {
+			tf.get(1, TimeUnit.MILLISECONDS);
+			Assert.fail();
+		} catch (TimeoutException e) {
+			Assert.assertFalse(tf.isDone());
+		}
+		Assert.assertTrue(tf.await(2, TimeUnit.SECONDS));
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test refer async. ", CaseCounter.incr(3)));
+	}
+	
+	@Test
+	public void testReferAsyncFailure() throws Exception {
+		DemoServiceAsync dsa = client.referAsync(DemoService.class, DemoServiceAsync.class);
+		
+		// a synchronous failure of async invocation is delivered by a completed future, not thrown.
+		RpcContext.getContext().setDeadline(System.currentTimeMillis() - 1);
+		RpcFuture<String> future = dsa.echo("hi");
+		Assert.assertTrue(future.isDone());
+		Assert.assertTrue(future.getException() instanceof RpcException);
+		try {
+			future.get();
+			Assert.fail();
+		} catch (ExecutionException e) {
+			Assert.assertEquals(RpcException.CLIENT_TIMEOUT, ((RpcException) e.getCause()).getCode());
+		}
+		
+		// the context is cleared, the next invocation works.
+		Assert.assertEquals("hi", dsa.echo("hi").get(2, TimeUnit.SECONDS));
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test refer async failure. ", CaseCounter.incr(4)));
+	}
+	
+	@Test
+	public void testReferAsyncConcurrently() throws Exception {
+		DemoServiceAsync dsa = client.referAsync(DemoService.class, DemoServiceAsync.class);
+		int count = 100;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicInteger succeeded = new AtomicInteger();
+		long s = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			final String hi = "hi-" + i;
+			dsa.echo(hi).addListener(new RpcFutureListener<String>() {
+				@Override
+				public void operationComplete(RpcFuture<String> future) {
+					try {
+						if (hi.equals(future.get())) succeeded.incrementAndGet();
+					} catch (Exception e) {
+						// ignore, count as failed
+					}
+					latch.countDown();
+				}
+			});
+		}
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		long elapse = System.nanoTime() - s;
+		Assert.assertEquals(count, succeeded.get());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test refer async concurrently, |calls=%s, elapse=%sns|. ", CaseCounter.incr(2), count, elapse));
+	}
+	
+	@Test
+	public void testTimeoutSweep() throws Exception {
+		DefaultRpcConnector connector = (DefaultRpcConnector) ((DefaultRpcClient) client).getConnector();
+		
+		// sync timeout
+		RpcContext.getContext().setRpcTimeoutInMillis(50);
+		try {
+			ds.timeout("hi");
+			Assert.fail();
+		} catch (RpcException e) {
+			Assert.assertTrue(RpcException.CLIENT_TIMEOUT == e.getCode() || RpcException.SERVER_TIMEOUT == e.getCode());
+		}
+		Assert.assertEquals(0, connector.pendingFutureNum());
+		
+		// async timeout, the future is failed and removed without any waiter.
+		DemoServiceAsync dsa = client.referAsync(DemoService.class, DemoServiceAsync.class);
+		RpcContext.getContext().setRpcTimeoutInMillis(50);
+		RpcFuture<Void> future = dsa.timeout("hi");
+		final CountDownLatch latch = new CountDownLatch(1);
+		future.addListener(new RpcFutureListener<Void>() {
+			@Override
+			public void operationComplete(RpcFuture<Void> future) {
+				latch.countDown();
+			}
+		});
+		Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+		Assert.assertTrue(future.isDone());
+		Assert.assertEquals(0, connector.pendingFutureNum());
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test timeout sweep. ", CaseCounter.incr(4)));
+	}
+	
+	@Test
+	public void testDeadline() throws Exception {
+		RpcContext.getContext().setDeadline(System.currentTimeMillis() - 1);
+		try {
+			ds.echo("hi");
+			Assert.fail();
+		} catch (RpcException e) {
+			Assert.assertEquals(RpcException.CLIENT_TIMEOUT, e.getCode());
+		}
+		
+		// deadline limits the timeout
+		RpcContext.getContext().setDeadline(System.currentTimeMillis() + 50);
+		try {
+			ds.timeout("hi");
+			Assert.fail();
+		} catch (RpcException e) {
+			Assert.assertTrue(RpcException.CLIENT_TIMEOUT == e.getCode() || RpcException.SERVER_TIMEOUT == e.getCode());
+		}
+		Assert.assertEquals("hi", ds.echo("hi"));
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test deadline. ", CaseCounter.incr(3)));
+	}
+	
+	@Test
+	public void testNestedDeadline() throws Exception {
+		// the front service launches 2 nested invocations to the backend, both are limited by the deadline of the front request.
+		final Semaphore done = new Semaphore(0);
+		final AtomicInteger code = new AtomicInteger();
+		final AtomicInteger failed = new AtomicInteger();
+		int frontPort = AvailablePortFinder.getNextAvailable();
+		RpcServer front = RpcFactory.newRpcServer(frontPort);
+		front.export(DemoService.class, new DemoServiceImpl1() {
+			@Override
+			public String echo(String in) {
+				for (int i = 0; i < 2; i++) {
+					try {
+						ds.timeout(in);
+					} catch (RpcException e) {
+						failed.incrementAndGet();
+						code.set(e.getCode());
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				done.release();
+				return in;
+			}
+		}, new RpcParameter(10, 100));
+		front.open();
+		RpcClient frontClient = RpcFactory.newRpcClient(host, frontPort);
+		frontClient.open();
+		try {
+			DemoService fds = frontClient.refer(DemoService.class);
+			RpcContext.getContext().setRpcTimeoutInMillis(100);
+			try {
+				fds.echo("hi");
+				Assert.fail();
+			} catch (RpcException e) {
+				Assert.assertTrue(true);
+			}
+			
+			// the second nested invocation fails fast after the deadline, without it the backend would sleep 200ms again and succeed.
+			Assert.assertTrue(done.tryAcquire(1, TimeUnit.SECONDS));
+			Assert.assertEquals(2, failed.get());
+			Assert.assertEquals(RpcException.CLIENT_TIMEOUT, code.get());
+		} finally {
+			frontClient.close();
+			front.close();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-NIO] (^_^)  <%s>  Case -> test nested deadline. ", CaseCounter.incr(3)));
+	}
+	
 	@Test
 	public void testPartialExported() {
 		port = AvailablePortFinder.getNextAvailable(33333);
@@ -0,0 +1,360 @@
+package io.craft.atom.rpc;
+
+import io.craft.atom.io.AbstractIoByteChannel;
+import io.craft.atom.io.IllegalChannelStateException;
+import io.craft.atom.rpc.api.RpcClient;
+import io.craft.atom.rpc.api.RpcFactory;
+import io.craft.atom.rpc.api.RpcParameter;
+import io.craft.atom.rpc.api.RpcServer;
+import io.craft.atom.test.AvailablePortFinder;
+import io.craft.atom.test.CaseCounter;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link RpcBatchWriter}, it is also a throughput benchmark of batched and separate writes.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestRpcBatchWriter {
+
+
+	private static final Logger LOG     = LoggerFactory.getLogger(TestRpcBatchWriter.class);
+	private static final int    THREADS = 64                                               ;
+	private static final int    CALLS   = 500                                              ;
+
+
+	@Test
+	public void testMerge() throws Exception {
+		MockChannel channel = new MockChannel();
+		RpcBatchWriter writer = new RpcBatchWriter(channel, 64);
+		
+		// the first write blocks in channel, the messages enqueued meanwhile are merged into one write by the next flush.
+		CountDownLatch block = new CountDownLatch(1);
+		channel.block = block;
+		List<Thread> threads = new ArrayList<Thread>();
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(50);
+		for (int i = 0; i < 3; i++) {
+			threads.add(write(writer, new byte[10], null));
+		}
+		Thread.sleep(50);
+		block.countDown();
+		join(threads);
+		Assert.assertEquals(2, channel.writes.size());
+		Assert.assertEquals(10, channel.writes.get(0).length);
+		Assert.assertEquals(30, channel.writes.get(1).length);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer merge. ", CaseCounter.incr(3)));
+	}
+	
+	@Test
+	public void testBudgetEdge() throws Exception {
+		MockChannel channel = new MockChannel();
+		RpcBatchWriter writer = new RpcBatchWriter(channel, 20);
+		
+		// a batch fills up to the budget exactly, a message larger than the budget is written alone.
+		CountDownLatch block = new CountDownLatch(1);
+		channel.block = block;
+		List<Thread> threads = new ArrayList<Thread>();
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(50);
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(20);
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(20);
+		threads.add(write(writer, new byte[30], null));
+		Thread.sleep(20);
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(50);
+		block.countDown();
+		join(threads);
+		Assert.assertEquals(4, channel.writes.size());
+		Assert.assertEquals(10, channel.writes.get(0).length);
+		Assert.assertEquals(20, channel.writes.get(1).length);
+		Assert.assertEquals(30, channel.writes.get(2).length);
+		Assert.assertEquals(10, channel.writes.get(3).length);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer budget edge. ", CaseCounter.incr(5)));
+	}
+	
+	@Test
+	public void testException() throws Exception {
+		MockChannel channel = new MockChannel();
+		RpcBatchWriter writer = new RpcBatchWriter(channel, 64);
+		writer.write(new byte[10]);
+		Assert.assertFalse(writer.isFailed());
+		
+		// the channel breaks while a write blocks, every writer of the dropped messages gets the exception.
+		CountDownLatch block = new CountDownLatch(1);
+		channel.block  = block;
+		channel.broken = true;
+		Queue<Exception> errors = new ConcurrentLinkedQueue<Exception>();
+		List<Thread> threads = new ArrayList<Thread>();
+		threads.add(write(writer, new byte[10], errors));
+		Thread.sleep(50);
+		for (int i = 0; i < 3; i++) {
+			threads.add(write(writer, new byte[10], errors));
+		}
+		Thread.sleep(50);
+		block.countDown();
+		join(threads);
+		Assert.assertEquals(4, errors.size());
+		for (Exception e : errors) {
+			Assert.assertTrue(e instanceof IllegalChannelStateException);
+		}
+		Assert.assertTrue(writer.isFailed());
+		Assert.assertEquals(1, channel.writes.size());
+		
+		// a failed writer drops later messages at once.
+		try {
+			writer.write(new byte[10]);
+			Assert.fail();
+		} catch (IllegalChannelStateException e) {
+			Assert.assertTrue(true);
+		}
+		Assert.assertEquals(1, channel.writes.size());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer exception. ", CaseCounter.incr(4)));
+	}
+	
+	@Test
+	public void testStrandedRace() throws Exception {
+		final MockChannel channel = new MockChannel();
+		final RpcBatchWriter writer = new RpcBatchWriter(channel, 64);
+		final AtomicInteger stranded = new AtomicInteger();
+		final AtomicInteger ids = new AtomicInteger();
+		
+		// when a write returns its bytes must be written, no matter which thread flushed them.
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CountDownLatch latch = new CountDownLatch(THREADS);
+			for (int i = 0; i < THREADS; i++) {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < CALLS; j++) {
+							int id = ids.incrementAndGet();
+							writer.write(ByteBuffer.allocate(4).putInt(id).array());
+							if (!channel.ids.contains(id)) stranded.incrementAndGet();
+						}
+						latch.countDown();
+					}
+				});
+			}
+			Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+		Assert.assertEquals(0, stranded.get());
+		Assert.assertEquals(THREADS * CALLS, channel.ids.size());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer stranded race, |writes=%s|. ", CaseCounter.incr(2), channel.writes.size()));
+	}
+	
+	@Test
+	public void testWriteAsync() throws Exception {
+		MockChannel channel = new MockChannel();
+		RpcBatchWriter writer = new RpcBatchWriter(channel, 64);
+		
+		// an asynchronous write never waits for the blocked flushing thread, which flushes it before return.
+		CountDownLatch block = new CountDownLatch(1);
+		channel.block = block;
+		List<Thread> threads = new ArrayList<Thread>();
+		threads.add(write(writer, new byte[10], null));
+		Thread.sleep(50);
+		long s = System.currentTimeMillis();
+		writer.writeAsync(new byte[10]);
+		writer.writeAsync(new byte[10]);
+		Assert.assertTrue(System.currentTimeMillis() - s < 50);
+		Assert.assertEquals(0, channel.writes.size());
+		block.countDown();
+		join(threads);
+		Assert.assertEquals(2, channel.writes.size());
+		Assert.assertEquals(20, channel.writes.get(1).length);
+		
+		// a lonely asynchronous write is flushed by the caller at once.
+		writer.writeAsync(new byte[10]);
+		Assert.assertEquals(3, channel.writes.size());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer write async. ", CaseCounter.incr(5)));
+	}
+	
+	@Test
+	public void testAsyncRace() throws Exception {
+		final MockChannel channel = new MockChannel();
+		final RpcBatchWriter writer = new RpcBatchWriter(channel, 64);
+		final AtomicInteger ids = new AtomicInteger();
+		
+		// asynchronous messages mixed with waiting writers are never stranded in the queue.
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CountDownLatch latch = new CountDownLatch(THREADS);
+			for (int i = 0; i < THREADS; i++) {
+				final boolean async = (i % 2 == 0);
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < CALLS; j++) {
+							byte[] bytes = ByteBuffer.allocate(4).putInt(ids.incrementAndGet()).array();
+							if (async) {
+								writer.writeAsync(bytes);
+							} else {
+								writer.write(bytes);
+							}
+						}
+						latch.countDown();
+					}
+				});
+			}
+			Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+		Assert.assertEquals(THREADS * CALLS, channel.ids.size());
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch writer async race, |writes=%s|. ", CaseCounter.incr(1), channel.writes.size()));
+	}
+	
+	@Test
+	public void testBatchWrite() throws Exception {
+		long qps = benchmark(RpcBatchWriter.DEFAULT_BUDGET);
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc batch write throughput |threads={}, calls={}, qps={}|", THREADS, THREADS * CALLS, qps);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch write, |qps=%s|. ", CaseCounter.incr(1), qps));
+	}
+
+	@Test
+	public void testSeparateWrite() throws Exception {
+		long qps = benchmark(0);
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc separate write throughput |threads={}, calls={}, qps={}|", THREADS, THREADS * CALLS, qps);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc separate write, |qps=%s|. ", CaseCounter.incr(1), qps));
+	}
+
+	@Test
+	public void testSmallBudget() throws Exception {
+		// a budget less than one message degrades to separate writes, nothing is lost.
+		long qps = benchmark(16);
+		LOG.debug("[CRAFT-ATOM-RPC] Rpc small budget batch write throughput |threads={}, calls={}, qps={}|", THREADS, THREADS * CALLS, qps);
+		System.out.println(String.format("[CRAFT-ATOM-RPC] (^_^)  <%s>  Case -> test rpc batch write small budget, |qps=%s|. ", CaseCounter.incr(1), qps));
+	}
+
+	private long benchmark(int batchWriteBytes) throws Exception {
+		int port = AvailablePortFinder.getNextAvailable();
+		DefaultRpcAcceptor acceptor = new DefaultRpcAcceptor();
+		acceptor.setBatchWriteBytes(batchWriteBytes);
+		RpcServer server = RpcFactory.newRpcServerBuilder(port).rpcAcceptor(acceptor).build();
+		server.export(DemoService.class, new DemoServiceImpl1(), new RpcParameter(THREADS, THREADS * 2));
+		server.open();
+
+		DefaultRpcConnector connector = new DefaultRpcConnector();
+		connector.setBatchWriteBytes(batchWriteBytes);
+		RpcClient client = RpcFactory.newRpcClientBuilder("localhost", port).rpcConnector(connector).build();
+		client.open();
+		final DemoService ds = client.refer(DemoService.class);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CountDownLatch latch = new CountDownLatch(THREADS);
+			final AtomicInteger failed = new AtomicInteger();
+			long s = System.nanoTime();
+			for (int i = 0; i < THREADS; i++) {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < CALLS; j++) {
+							String hi = Thread.currentThread().getId() + "-hi-" + j;
+							try {
+								if (!hi.equals(ds.echo(hi))) failed.incrementAndGet();
+							} catch (Exception e) {
+								failed.incrementAndGet();
+							}
+						}
+						latch.countDown();
+					}
+				});
+			}
+			latch.await();
+			long elapse = System.nanoTime() - s;
+			Assert.assertEquals(0, failed.get());
+			return (long) THREADS * CALLS * 1000000000L / elapse;
+		} finally {
+			executor.shutdownNow();
+			client.close();
+			server.close();
+		}
+	}
+
+	private Thread write(final RpcBatchWriter writer, final byte[] bytes, final Queue<Exception> errors) {
+		Thread t = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writer.write(bytes);
+				} catch (IllegalChannelStateException e) {
+					if (errors != null) errors.add(e);
+				}
+			}
+		});
+		t.start();
+		return t;
+	}
+	
+	private void join(List<Thread> threads) throws InterruptedException {
+		for (Thread t : threads) {
+			t.join(5000);
+			Assert.assertFalse(t.isAlive());
+		}
+	}
+	
+	
+	// ~ -------------------------------------------------------------------------------------------------------------
+	
+	
+	private static class MockChannel extends AbstractIoByteChannel {
+		
+		
+		final    List<byte[]>   writes = Collections.synchronizedList(new ArrayList<byte[]>())             ;
+		final    Set<Integer>   ids    = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+		volatile CountDownLatch block                                                                      ;
+		volatile boolean        broken                                                                     ;
+		
+		
+		@Override
+		public boolean write(byte[] data) throws IllegalChannelStateException {
+			CountDownLatch b = block;
+			block = null;
+			if (b != null) {
+				try { b.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+			}
+			if (broken) throw new IllegalChannelStateException();
+			
+			writes.add(data);
+			for (ByteBuffer buf = ByteBuffer.wrap(data); buf.remaining() >= 4;) {
+				ids.add(buf.getInt());
+			}
+			return true;
+		}
+		
+		@Override public void          cork()             {}
+		@Override public void          uncork()           {}
+		@Override public boolean       isWritable()       { return true; }
+		@Override public SocketAddress getRemoteAddress() { return null; }
+		@Override public SocketAddress getLocalAddress()  { return null; }
+		@Override public Queue<byte[]> getWriteQueue()    { return null; }
+		
+	}
+
+}
@@ -0,0 +1,163 @@
+package io.craft.atom.util.metric;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed bucket histogram of non-negative long values, e.g. latencies in nanoseconds.
+ * <p>
+ * Buckets are log-linear like HdrHistogram: values less than 32 have a bucket each,
+ * every power of two range above is split into 16 linear buckets, so the relative error of a recorded value is less than 1/16.
+ * There are 960 buckets cover the whole long range, recording is wait-free and never allocates.
+ * <p>
+ * Percentiles are calculated on read, they are not an atomic snapshot if there are concurrent records.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class LatencyHistogram {
+
+
+	private static final int SUB_BITS = 4                         ;
+	private static final int SUB_SIZE = 1 << SUB_BITS             ;
+	private static final int BUCKETS  = (64 - SUB_BITS) * SUB_SIZE;
+
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final StripedCounter  sum    = new StripedCounter()        ;
+	private final AtomicLong      max    = new AtomicLong()            ;
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	/**
+	 * Records a value, negative value is recorded as zero.
+	 *
+	 * @param value
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		counts.incrementAndGet(index(value));
+		sum.add(value);
+		for (long m = max.get(); value > m; m = max.get()) {
+			if (max.compareAndSet(m, value)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return count of recorded values.
+	 */
+	public long count() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @return mean of recorded values, or 0 if nothing is recorded.
+	 */
+	public long mean() {
+		long count = count();
+		return (count == 0 ? 0 : sum.sum() / count);
+	}
+
+	/**
+	 * @return max recorded value.
+	 */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * @param p percentile in range [0, 1], e.g. 0.99
+	 * @return highest equivalent value of the bucket which the percentile falls in, it is never more than max recorded value.
+	 */
+	public long percentile(double p) {
+		long count = count();
+		if (count == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(count * Math.min(1, Math.max(0, p))));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestEquivalentValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Adds all the recorded values of other histogram to this one.
+	 *
+	 * @param other
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++) {
+			long c = other.counts.get(i);
+			if (c != 0) {
+				counts.addAndGet(i, c);
+			}
+		}
+		sum.add(other.sum.sum());
+		long value = other.max.get();
+		for (long m = max.get(); value > m; m = max.get()) {
+			if (max.compareAndSet(m, value)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return a copy of this histogram.
+	 */
+	public LatencyHistogram copy() {
+		LatencyHistogram copy = new LatencyHistogram();
+		copy.add(this);
+		return copy;
+	}
+
+	/**
+	 * Clears all the recorded values, records concurrent with reset may be lost.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		sum.reset();
+		max.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LatencyHistogram(count=%s, mean=%s, p50=%s, p99=%s, p999=%s, max=%s)", count(), mean(), percentile(0.5), percentile(0.99), percentile(0.999), max());
+	}
+
+	static int index(long value) {
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		if (shift <= 0) {
+			return (int) value;
+		}
+		return (shift << SUB_BITS) + (int) (value >>> shift);
+	}
+
+	static long highestEquivalentValue(int index) {
+		if (index < (SUB_SIZE << 1)) {
+			return index;
+		}
+		int shift = (index >> SUB_BITS) - 1;
+		long sub = index - (shift << SUB_BITS);
+		return ((sub + 1) << shift) - 1;
+	}
+
+}
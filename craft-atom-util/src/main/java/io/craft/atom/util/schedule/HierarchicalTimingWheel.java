@@ -0,0 +1,425 @@
+package io.craft.atom.util.schedule;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import lombok.ToString;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hierarchical timing wheel supports arbitrary timeouts with O(1) add and cancel, such as I/O idle timeout or rpc request timeout.<br>
+ * {@link HierarchicalTimingWheel} creates a new thread whenever it is instantiated and started, so don't create many instances.
+ * <p>
+ * Unlike {@link TimingWheel}, there is no lock and no element map, {@link #add(Object, long, TimeUnit)} and {@link Timeout#cancel()}
+ * only append the timeout to a lock-free queue, the wheels are owned by the single tick thread which moves queued timeouts into buckets.
+ * So the same element may be added many times and each add returns an independent {@link Timeout}.
+ * <p>
+ * <b>The classic usage as follows:</b><br>
+ * <pre>
+ *    // Create a timing-wheel with 10 milliseconds tick and 64 ticks per wheel level.
+ *    HierarchicalTimingWheel<Request> wheel = new HierarchicalTimingWheel<Request>(10, 64, TimeUnit.MILLISECONDS);
+ *    wheel.addExpirationListener(new YourExpirationListener());
+ *    wheel.start();
+ *
+ *    // Add one element to be timeout approximated after 3 seconds
+ *    Timeout<Request> timeout = wheel.add(request, 3, TimeUnit.SECONDS);
+ *
+ *    // Anytime you can cancel it
+ *    timeout.cancel();
+ * </pre>
+ *
+ * The level <tt>n</tt> wheel has <tt>ticksPerWheel</tt> buckets and each bucket covers <tt>ticksPerWheel^n</tt> ticks,
+ * when a lower wheel turns a round the current bucket of higher wheel cascades down, timeouts beyond the highest wheel are re-placed
+ * when they cascade. A timeout never expires before its deadline, and expires at most one tick late if the tick thread is not busy.
+ * <p>
+ * It is based on <a href="http://cseweb.ucsd.edu/users/varghese/">George Varghese</a> and Tony Lauck's paper,
+ * <a href="http://cseweb.ucsd.edu/users/varghese/PAPERS/twheel.ps.Z">'Hashed and Hierarchical Timing Wheels: data structures
+ * to efficiently implement a timer facility'</a>.
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+@ToString(of = { "tickDuration", "ticksPerWheel", "levels", "size" })
+public class HierarchicalTimingWheel<E> {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+
+	private final    long                                        tickDuration                                                            ;
+	private final    int                                         ticksPerWheel                                                           ;
+	private final    int                                         levels                                                                  ;
+	private final    long[]                                      spans                                                                   ;
+	private final    Bucket<E>[][]                               wheels                                                                  ;
+	private final    Queue<Timeout<E>>                           pendingTimeouts     = new ConcurrentLinkedQueue<Timeout<E>>()           ;
+	private final    Queue<Timeout<E>>                           cancelledTimeouts   = new ConcurrentLinkedQueue<Timeout<E>>()           ;
+	private final    AtomicInteger                               size                = new AtomicInteger()                               ;
+	private final    AtomicBoolean                               shutdown            = new AtomicBoolean(false)                          ;
+	private final    CopyOnWriteArrayList<ExpirationListener<E>> expirationListeners = new CopyOnWriteArrayList<ExpirationListener<E>>() ;
+	private final    Thread                                      workerThread                                                            ;
+	private volatile long                                        startTime                                                               ;
+	private          long                                        currentTick                                                             ;
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	/**
+	 * Construct a hierarchical timing wheel.
+	 *
+	 * @param tickDuration   tick duration with specified time unit, it is the precision of timeout.
+	 * @param ticksPerWheel  buckets of each wheel level.
+	 * @param timeUnit
+	 */
+	@SuppressWarnings("unchecked")
+	public HierarchicalTimingWheel(int tickDuration, int ticksPerWheel, TimeUnit timeUnit) {
+		if (timeUnit == null) {
+            throw new NullPointerException("unit");
+        }
+		if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 1) {
+            throw new IllegalArgumentException("ticksPerWheel must be greater than 1: " + ticksPerWheel);
+        }
+
+        this.tickDuration  = Math.max(1, TimeUnit.MILLISECONDS.convert(tickDuration, timeUnit));
+        this.ticksPerWheel = ticksPerWheel;
+
+        // add levels until the highest wheel covers Integer.MAX_VALUE ticks, longer timeouts are re-placed when they cascade.
+        int n = 1;
+        for (long span = ticksPerWheel; span < Integer.MAX_VALUE; span *= ticksPerWheel) {
+        	n++;
+        }
+        this.levels = n;
+        this.spans  = new long[n + 1];
+        this.wheels = new Bucket[n][ticksPerWheel];
+        spans[0] = 1;
+        for (int level = 0; level < n; level++) {
+        	spans[level + 1] = spans[level] * ticksPerWheel;
+        	for (int i = 0; i < ticksPerWheel; i++) {
+        		wheels[level][i] = new Bucket<E>();
+        	}
+        }
+
+		this.workerThread = new Thread(new TickWorker(), "Hierarchical-Timing-Wheel");
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	public void start() {
+		if (shutdown.get()) {
+            throw new IllegalStateException("Cannot be started once stopped");
+        }
+
+		synchronized (workerThread) {
+			if (!workerThread.isAlive() && startTime == 0) {
+				startTime = System.currentTimeMillis();
+				workerThread.start();
+			}
+		}
+	}
+
+	public boolean stop() {
+		if (!shutdown.compareAndSet(false, true)) {
+			return false;
+		}
+
+		boolean interrupted = false;
+		while (workerThread.isAlive()) {
+			workerThread.interrupt();
+			try {
+				workerThread.join(100);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+		return true;
+	}
+
+	public void addExpirationListener(ExpirationListener<E> listener) {
+        expirationListeners.add(listener);
+    }
+
+	public void removeExpirationListener(ExpirationListener<E> listener) {
+        expirationListeners.remove(listener);
+    }
+
+	/**
+	 * Add a element to {@link HierarchicalTimingWheel} and start to count down its life-time, it is lock-free and could be invoked by any thread.
+	 *
+	 * @param e
+	 * @param timeout  time from now to be expired.
+	 * @param unit
+	 * @return the timeout handle, use it to cancel the count down.
+	 */
+	public Timeout<E> add(E e, long timeout, TimeUnit unit) {
+		if (e == null) {
+			throw new NullPointerException("e");
+		}
+
+		Timeout<E> t = new Timeout<E>(this, e, System.currentTimeMillis() + Math.max(0, unit.toMillis(timeout)));
+		size.incrementAndGet();
+		pendingTimeouts.add(t);
+		return t;
+	}
+
+	/**
+	 * @return the number of timeouts neither expired nor cancelled.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+
+	// ~ ------------------------------------------------------------------------------------------------------------- tick thread only
+
+
+	private void transferCancelled() {
+		for (Timeout<E> t = cancelledTimeouts.poll(); t != null; t = cancelledTimeouts.poll()) {
+			if (t.bucket != null) {
+				t.bucket.remove(t);
+			}
+		}
+	}
+
+	private void transferPending() {
+		for (Timeout<E> t = pendingTimeouts.poll(); t != null; t = pendingTimeouts.poll()) {
+			if (t.isCancelled()) {
+				continue;
+			}
+
+			long ticks = (t.deadline - startTime + tickDuration - 1) / tickDuration;
+			t.deadlineTick = Math.max(ticks, currentTick);
+			place(t);
+		}
+	}
+
+	private void place(Timeout<E> t) {
+		long delta = t.deadlineTick - currentTick;
+		int level = 0;
+		while (level < levels - 1 && delta >= spans[level + 1]) {
+			level++;
+		}
+
+		// beyond the highest wheel, park it in the farthest bucket and re-place it when the bucket cascades.
+		long tick = (delta >= spans[level + 1] ? currentTick + spans[level + 1] - spans[level] : t.deadlineTick);
+		int idx = (int) ((tick / spans[level]) % ticksPerWheel);
+		wheels[level][idx].add(t);
+	}
+
+	private void cascade() {
+		int top = 0;
+		while (top < levels - 1 && currentTick % spans[top + 1] == 0) {
+			top++;
+		}
+
+		// from the highest level down, so that timeouts could fall through more than one level in the same tick.
+		for (int level = top; level >= 1; level--) {
+			Bucket<E> bucket = wheels[level][(int) ((currentTick / spans[level]) % ticksPerWheel)];
+			for (Timeout<E> t = bucket.clear(); t != null;) {
+				Timeout<E> next = t.next;
+				t.next = null;
+				if (!t.isCancelled()) {
+					place(t);
+				}
+				t = next;
+			}
+		}
+	}
+
+	private void expire() {
+		Bucket<E> bucket = wheels[0][(int) (currentTick % ticksPerWheel)];
+		for (Timeout<E> t = bucket.clear(); t != null;) {
+			Timeout<E> next = t.next;
+			t.next = null;
+			if (t.deadlineTick > currentTick) {
+				place(t);
+			} else if (t.expire()) {
+				notifyExpired(t.element);
+			}
+			t = next;
+		}
+	}
+
+	private void notifyExpired(E e) {
+		for (ExpirationListener<E> listener : expirationListeners) {
+			try {
+				listener.expired(e);
+			} catch (Exception ex) {
+				LOG.warn("[CRAFT-ATOM-UTIL] Expiration listener exception |element={}|", e, ex);
+			}
+		}
+	}
+
+
+	// ~ -------------------------------------------------------------------------------------------------------------
+
+
+	private class TickWorker implements Runnable {
+
+		@Override
+		public void run() {
+			while (!shutdown.get()) {
+				transferCancelled();
+				transferPending();
+				cascade();
+				expire();
+				if (!waitForNextTick()) {
+					return;
+				}
+				currentTick++;
+			}
+		}
+
+		private boolean waitForNextTick() {
+			for (;;) {
+                long sleepTime = tickDuration * (currentTick + 1) - (System.currentTimeMillis() - startTime);
+                if (sleepTime <= 0) {
+                    return true;
+                }
+
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+		}
+	}
+
+	/**
+	 * A handle of element added to {@link HierarchicalTimingWheel}.
+	 */
+	@ToString(of = { "element", "deadline", "state" })
+	public static final class Timeout<E> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<Timeout> STATE     = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+		private static final int                                INIT      = 0                                                           ;
+		private static final int                                CANCELLED = 1                                                           ;
+		private static final int                                EXPIRED   = 2                                                           ;
+
+		private final    HierarchicalTimingWheel<E> wheel       ;
+		private final    E                          element     ;
+		private final    long                       deadline    ;
+		private volatile int                        state       ;
+		private          long                       deadlineTick;
+		private          Bucket<E>                  bucket      ;
+		private          Timeout<E>                 prev        ;
+		private          Timeout<E>                 next        ;
+
+		private Timeout(HierarchicalTimingWheel<E> wheel, E element, long deadline) {
+			this.wheel    = wheel;
+			this.element  = element;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * @return the element of the timeout.
+		 */
+		public E element() {
+			return element;
+		}
+
+		/**
+		 * @return the deadline in milliseconds.
+		 */
+		public long deadline() {
+			return deadline;
+		}
+
+		/**
+		 * Cancel the timeout, it would never expire.
+		 *
+		 * @return <tt>true</tt> if it is cancelled by this invocation, <tt>false</tt> if it already expired or cancelled.
+		 */
+		public boolean cancel() {
+			if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+				return false;
+			}
+
+			wheel.size.decrementAndGet();
+			wheel.cancelledTimeouts.add(this);
+			return true;
+		}
+
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		private boolean expire() {
+			if (!STATE.compareAndSet(this, INIT, EXPIRED)) {
+				return false;
+			}
+
+			wheel.size.decrementAndGet();
+			return true;
+		}
+	}
+
+	/**
+	 * Doubly linked timeouts, it is only accessed by tick thread.
+	 */
+	private static class Bucket<E> {
+
+		private Timeout<E> head;
+
+		void add(Timeout<E> t) {
+			t.bucket = this;
+			t.prev   = null;
+			t.next   = head;
+			if (head != null) {
+				head.prev = t;
+			}
+			head = t;
+		}
+
+		void remove(Timeout<E> t) {
+			if (t.prev != null) {
+				t.prev.next = t.next;
+			} else {
+				head = t.next;
+			}
+			if (t.next != null) {
+				t.next.prev = t.prev;
+			}
+			t.bucket = null;
+			t.prev   = null;
+			t.next   = null;
+		}
+
+		/**
+		 * Detach all the timeouts of the bucket.
+		 *
+		 * @return head of the detached timeouts, linked by <code>next</code>.
+		 */
+		Timeout<E> clear() {
+			Timeout<E> h = head;
+			head = null;
+			for (Timeout<E> t = h; t != null; t = t.next) {
+				t.bucket = null;
+				t.prev   = null;
+			}
+			return h;
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package io.craft.atom.util.metric;
+
+import io.craft.atom.test.CaseCounter;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link LatencyHistogram} and {@link StripedCounter}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestLatencyHistogram {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestLatencyHistogram.class);
+
+
+	@Test
+	public void testBuckets() {
+		// buckets are continuous and each bucket covers the values between highest equivalent values of its neighbors.
+		long last = -1;
+		for (int i = 0; i < 960; i++) {
+			long high = LatencyHistogram.highestEquivalentValue(i);
+			Assert.assertEquals(i, LatencyHistogram.index(last + 1));
+			Assert.assertEquals(i, LatencyHistogram.index(high));
+			last = high;
+		}
+		Assert.assertEquals(Long.MAX_VALUE, last);
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test latency histogram buckets. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testPercentile() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int i = 1; i <= 10000; i++) {
+			h.record(i * 1000L);
+		}
+		Assert.assertEquals(10000, h.count());
+		Assert.assertEquals(10000 * 1000L, h.max());
+		Assert.assertEquals(5000500, h.mean());
+		assertClose(5000 * 1000L, h.percentile(0.5));
+		assertClose(9900 * 1000L, h.percentile(0.99));
+		assertClose(9990 * 1000L, h.percentile(0.999));
+		Assert.assertEquals(h.max(), h.percentile(1));
+
+		LatencyHistogram copy = h.copy();
+		copy.add(h);
+		Assert.assertEquals(20000, copy.count());
+		assertClose(5000 * 1000L, copy.percentile(0.5));
+		h.reset();
+		Assert.assertEquals(0, h.count());
+		Assert.assertEquals(0, h.percentile(0.99));
+		LOG.debug("[CRAFT-ATOM-UTIL] Histogram |copy={}|", copy);
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test latency histogram percentile. ", CaseCounter.incr(10)));
+	}
+
+	@Test
+	public void testConcurrentRecord() throws Exception {
+		final int threads = 4;
+		final int n = 100000;
+		final LatencyHistogram h = new LatencyHistogram();
+		final StripedCounter counter = new StripedCounter();
+		final CountDownLatch latch = new CountDownLatch(threads);
+		long s = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					Random random = new Random();
+					for (int i = 0; i < n; i++) {
+						h.record(random.nextInt(1000000));
+						counter.increment();
+					}
+					latch.countDown();
+				}
+			}).start();
+		}
+		latch.await();
+		long elapse = System.nanoTime() - s;
+		Assert.assertEquals(threads * n, h.count());
+		Assert.assertEquals(threads * n, counter.sum());
+		LOG.debug("[CRAFT-ATOM-UTIL] Concurrent record |records={}, elapse={}ns, avg={}ns|", threads * n, elapse, elapse / (threads * n));
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test latency histogram concurrent record. ", CaseCounter.incr(2)));
+	}
+
+	private void assertClose(long expected, long actual) {
+		Assert.assertTrue(expected + " ~ " + actual, Math.abs(expected - actual) <= expected / 16);
+	}
+
+}
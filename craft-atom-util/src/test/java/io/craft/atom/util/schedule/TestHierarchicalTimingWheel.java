@@ -0,0 +1,151 @@
+package io.craft.atom.util.schedule;
+
+import io.craft.atom.test.CaseCounter;
+import io.craft.atom.util.schedule.HierarchicalTimingWheel.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link HierarchicalTimingWheel}
+ *
+ * @author mindwind
+ * @version 1.0, Oct 17, 2026
+ */
+public class TestHierarchicalTimingWheel {
+
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestHierarchicalTimingWheel.class);
+
+
+	private HierarchicalTimingWheel<String> wheel   ;
+	private ConcurrentHashMap<String, Long> expired ;
+	private AtomicInteger                   counter ;
+
+
+	@Before
+	public void before() {
+		expired = new ConcurrentHashMap<String, Long>();
+		counter = new AtomicInteger();
+		// 4 ticks per wheel forces timeouts to cascade through several levels.
+		wheel = new HierarchicalTimingWheel<String>(5, 4, TimeUnit.MILLISECONDS);
+		wheel.addExpirationListener(new TestExpirationListener());
+		wheel.start();
+	}
+
+	@After
+	public void after() {
+		wheel.stop();
+	}
+
+	@Test
+	public void testExpire() throws InterruptedException {
+		long[] delays = new long[] { 0, 3, 17, 64, 150, 333 };
+		List<Timeout<String>> timeouts = new ArrayList<Timeout<String>>();
+		for (long delay : delays) {
+			timeouts.add(wheel.add("test-" + delay, delay, TimeUnit.MILLISECONDS));
+		}
+		Assert.assertEquals(delays.length, wheel.size());
+
+		while (counter.get() < delays.length) {
+			Thread.sleep(10);
+		}
+
+		for (Timeout<String> timeout : timeouts) {
+			Assert.assertTrue(timeout.isExpired());
+			long deviation = expired.get(timeout.element()) - timeout.deadline();
+			LOG.debug("[CRAFT-ATOM-UTIL] Hierarchical timing wheel |element={}, deviation={}|", timeout.element(), deviation);
+			Assert.assertTrue(deviation >= 0);
+			Assert.assertTrue(deviation <= 20);
+		}
+		Assert.assertEquals(0, wheel.size());
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test hierarchical timing wheel expire. ", CaseCounter.incr(2)));
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		Timeout<String> t1 = wheel.add("test-1", 50, TimeUnit.MILLISECONDS);
+		Timeout<String> t2 = wheel.add("test-2", 50, TimeUnit.MILLISECONDS);
+		Timeout<String> t3 = wheel.add("test-3", 200, TimeUnit.MILLISECONDS);
+		Assert.assertEquals(3, wheel.size());
+		Assert.assertTrue(t1.cancel());
+		Assert.assertFalse(t1.cancel());
+		Assert.assertTrue(t1.isCancelled());
+		Assert.assertEquals(2, wheel.size());
+
+		Thread.sleep(100);
+		Assert.assertTrue(t2.isExpired());
+		Assert.assertFalse(t2.cancel());
+		Assert.assertTrue(t3.cancel());
+		Thread.sleep(150);
+		Assert.assertEquals(1, counter.get());
+		Assert.assertNull(expired.get("test-1"));
+		Assert.assertNull(expired.get("test-3"));
+		Assert.assertEquals(0, wheel.size());
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test hierarchical timing wheel cancel. ", CaseCounter.incr(3)));
+	}
+
+	@Test
+	public void testAddCancelBenchmark() throws InterruptedException {
+		int threads = 8, loops = 100000;
+		HierarchicalTimingWheel<String> hwheel = new HierarchicalTimingWheel<String>(10, 512, TimeUnit.MILLISECONDS);
+		TimingWheel<String> twheel = new TimingWheel<String>(10, 512, TimeUnit.MILLISECONDS);
+		hwheel.start();
+		twheel.start();
+		try {
+			long ht = benchmark(hwheel, null, threads, loops);
+			long tt = benchmark(null, twheel, threads, loops);
+			LOG.debug("[CRAFT-ATOM-UTIL] Add and cancel |threads={}, loops={}, hierarchical={}ms, timing={}ms|", threads, loops, ht, tt);
+		} finally {
+			hwheel.stop();
+			twheel.stop();
+		}
+		System.out.println(String.format("[CRAFT-ATOM-UTIL] (^_^)  <%s>  Case -> test hierarchical timing wheel add and cancel benchmark. ", CaseCounter.incr(1)));
+	}
+
+	private long benchmark(final HierarchicalTimingWheel<String> hwheel, final TimingWheel<String> twheel, int threads, final int loops) throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(threads);
+		long s = System.currentTimeMillis();
+		for (int i = 0; i < threads; i++) {
+			final String prefix = "t" + i + "-";
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < loops; j++) {
+						String e = prefix + j;
+						if (hwheel != null) {
+							hwheel.add(e, 1, TimeUnit.SECONDS).cancel();
+						} else {
+							twheel.add(e);
+							twheel.remove(e);
+						}
+					}
+					latch.countDown();
+				}
+			}).start();
+		}
+		latch.await();
+		return System.currentTimeMillis() - s;
+	}
+
+	private class TestExpirationListener implements ExpirationListener<String> {
+		@Override
+		public void expired(String expiredObject) {
+			expired.put(expiredObject, System.currentTimeMillis());
+			counter.incrementAndGet();
+		}
+	}
+
+}